@@ -0,0 +1,20 @@
+package Chapter_01.composition;
+
+import Chapter_01.composition.asis.AsIsBenchmarks;
+import Chapter_01.composition.tobe.ToBeBenchmarks;
+
+import java.io.IOException;
+
+/**
+ * 상속 vs 구성: getPrice/getDescription 처리량과 할당량 비교
+ * 정확한 수치를 원하면 -Xmx, -XX:+UseParallelGC 등을 고정하고 여러 번 돌린다. (JVM 옵션은 포크에도 전달된다)
+ * 빠르게 훑어볼 때는 --in-process로 한 JVM에서 모두 돌릴 수 있다.
+ */
+public class CompositionBenchmarkMain {
+    public static void main(String[] args) throws IOException, InterruptedException {
+        MicroBenchmark.Cases cases = new MicroBenchmark.Cases();
+        AsIsBenchmarks.register(cases);
+        ToBeBenchmarks.register(cases);
+        MicroBenchmark.main(CompositionBenchmarkMain.class, cases, args);
+    }
+}
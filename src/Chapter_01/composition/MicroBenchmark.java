@@ -0,0 +1,132 @@
+package Chapter_01.composition;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 아주 작은 마이크로 벤치마크 도구
+ * <p>
+ * 이 저장소는 빌드 도구 없이 javac로 돌리므로 JMH 대신 같은 원칙만 흉내 낸다.
+ * - 워밍업 라운드로 JIT 컴파일을 먼저 끝낸다
+ * - 결과값을 sink에 모아 JIT이 계산을 지워버리지 못하게 한다
+ * - 스레드별 할당 바이트(HotSpot 확장 MXBean)로 연산당 할당량을 잰다
+ *   (할당을 재는 벤치마크는 만든 객체를 ESCAPE_SLOTS 배열에 남겨 탈출 분석이 지우지 못하게 한다)
+ * - 반복 루프는 벤치마크마다 Batch 안에 따로 둔다. 루프를 하나로 공유하면 그 안의 호출 지점에
+ *   여러 람다가 섞여 들어와 megamorphic이 되고, 뒤에 도는 벤치마크일수록 느리게 나온다.
+ * - 기본은 벤치마크마다 새 JVM을 띄운다. (JMH의 fork) 앞 벤치마크가 남긴 타입 프로파일이
+ *   공유 코드(CoffeeOrder 등)의 호출 지점을 오염시키지 않게 하기 위해서다.
+ * JMH로 옮길 때는 Batch 하나가 @Benchmark 메서드 하나가 된다.
+ */
+public final class MicroBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURE_ROUNDS = 5;
+    private static final int OPS_PER_ROUND = 2_000_000;
+
+    /**
+     * 할당 비용을 재는 벤치마크가 만든 객체를 남겨 둘 배열 크기 (2의 거듭제곱)
+     * 만든 객체를 바로 버리면 탈출 분석(스칼라 치환)이 할당 자체를 지워 0 B/op가 나온다.
+     * 배열에 저장하면 힙으로 탈출하므로 실제 할당이 일어난다. 작게 잡아 두면 대부분 영 세대에서 죽는다.
+     */
+    public static final int ESCAPE_SLOTS = 1 << 10;
+
+    private static volatile long sink;
+
+    private MicroBenchmark() {
+    }
+
+    @FunctionalInterface
+    public interface Batch {
+        // ops번 반복하고 결과를 합쳐서 돌려준다. 반환값은 결과를 "사용"하기 위한 것
+        long run(int ops);
+    }
+
+    /**
+     * 벤치마크 목록. 포크한 JVM은 같은 목록을 다시 만들고 번호로 하나만 골라 돌린다.
+     */
+    public static final class Cases {
+        private final List<String> names = new ArrayList<>();
+        private final List<Batch> batches = new ArrayList<>();
+
+        public void add(String name, Batch batch) {
+            names.add(name);
+            batches.add(batch);
+        }
+    }
+
+    /**
+     * 인자 없음       : 벤치마크마다 새 JVM에서 돌린다 (현재 JVM 옵션을 그대로 넘긴다)
+     * --in-process    : 모두 이 JVM에서 돌린다 (빠르지만 뒤쪽 결과는 프로파일 오염이 섞인다)
+     * --case 번호     : 그 벤치마크 하나만 돌린다 (포크된 JVM이 쓰는 모드)
+     */
+    public static void main(Class<?> mainClass, Cases cases, String[] args) throws IOException, InterruptedException {
+        if (args.length == 2 && args[0].equals("--case")) {
+            int index = Integer.parseInt(args[1]);
+            run(cases.names.get(index), cases.batches.get(index));
+            return;
+        }
+
+        header();
+        if (args.length == 1 && args[0].equals("--in-process")) {
+            for (int i = 0; i < cases.names.size(); i++) {
+                run(cases.names.get(i), cases.batches.get(i));
+            }
+            System.out.println("(sink: " + sink + ")");
+            return;
+        }
+
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        for (int i = 0; i < cases.names.size(); i++) {
+            List<String> command = new ArrayList<>();
+            command.add(java);
+            command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(mainClass.getName());
+            command.add("--case");
+            command.add(Integer.toString(i));
+            int exit = new ProcessBuilder(command).inheritIO().start().waitFor();
+            if (exit != 0) {
+                System.out.println(cases.names.get(i) + ": 실패 (exit " + exit + ")");
+            }
+        }
+    }
+
+    public static void header() {
+        System.out.printf("%-48s %12s %12s%n", "벤치마크", "ops/us", "bytes/op");
+    }
+
+    public static void run(String name, Batch batch) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            sink += batch.run(OPS_PER_ROUND);
+        }
+
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int round = 0; round < MEASURE_ROUNDS; round++) {
+            sink += batch.run(OPS_PER_ROUND);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        long ops = (long) MEASURE_ROUNDS * OPS_PER_ROUND;
+        System.out.printf("%-48s %12.1f %12s%n", name, ops * 1_000.0 / elapsed,
+                allocated < 0 ? "n/a" : String.format("%.1f", (double) allocated / ops));
+    }
+
+    // HotSpot이 아니면 -1
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    public static long sink() {
+        return sink;
+    }
+}
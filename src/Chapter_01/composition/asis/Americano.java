@@ -0,0 +1,13 @@
+package Chapter_01.composition.asis;
+
+class Americano extends Coffee {
+    @Override
+    String getDescription() {
+        return "Americano";
+    }
+
+    @Override
+    int getPrice() {
+        return 3000;
+    }
+}
@@ -0,0 +1,7 @@
+package Chapter_01.composition.asis;
+
+// 옵션을 추가하려면?
+class AmericanoWithExtraShot extends Americano {
+    String getDescription() { return "아메리카노 + 샷 추가"; }
+    int getPrice() { return 4500; }
+}
@@ -0,0 +1,9 @@
+package Chapter_01.composition.asis;
+
+class AmericanoWithExtraShotAndSyrup extends Americano {
+    // 샷도 추가하고 시럽도 추가하려면...?
+    String getDescription() { return "아메리카노 + 샷 추가 + 바닐라 시럽"; }
+    int getPrice() { return 5000; }
+}
+
+// 라떼에도 같은 옵션이 필요하다면... 클래스가 폭발적으로 증가
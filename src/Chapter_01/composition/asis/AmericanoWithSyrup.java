@@ -0,0 +1,6 @@
+package Chapter_01.composition.asis;
+
+class AmericanoWithSyrup extends Americano {
+    String getDescription() { return "아메리카노 + 바닐라 시럽"; }
+    int getPrice() { return 4500; }
+}
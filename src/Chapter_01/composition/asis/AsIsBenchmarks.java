@@ -0,0 +1,74 @@
+package Chapter_01.composition.asis;
+
+import Chapter_01.composition.MicroBenchmark;
+
+/**
+ * 상속 모델(조합마다 하위 클래스) 벤치마크
+ * 옵션 수는 클래스로 고정되어 있으므로 0 ~ 2개 조합만 측정할 수 있다.
+ */
+public final class AsIsBenchmarks {
+
+    private AsIsBenchmarks() {
+    }
+
+    public static void register(MicroBenchmark.Cases cases) {
+        // 인스턴스 하나만 캡처하면 JIT이 수신 객체를 상수로 보고 getPrice()를 통째로 접어 버릴 수 있다.
+        // 그래서 같은 타입의 인스턴스 여러 개를 배열에 두고 번갈아 호출한다.
+        Coffee[] plain = {new Americano(), new Americano(), new Americano(), new Americano(), new Americano()};
+        Coffee[] oneOption = {new AmericanoWithExtraShot(), new AmericanoWithExtraShot(), new AmericanoWithExtraShot(),
+                new AmericanoWithExtraShot(), new AmericanoWithExtraShot()};
+        Coffee[] twoOptions = {new AmericanoWithExtraShotAndSyrup(), new AmericanoWithExtraShotAndSyrup(),
+                new AmericanoWithExtraShotAndSyrup(), new AmericanoWithExtraShotAndSyrup(), new AmericanoWithExtraShotAndSyrup()};
+        // 다형(megamorphic): 다섯 가지 타입이 섞여 들어온다 → 인라인 캐시 실패, vtable 호출
+        Coffee[] mega = {new Americano(), new Latte(), new AmericanoWithExtraShot(), new AmericanoWithSyrup(),
+                new AmericanoWithExtraShotAndSyrup()};
+
+        // 단형(monomorphic): 호출 지점에 한 가지 타입만 들어온다
+        cases.add("asis getPrice 단형 옵션0", ops -> {
+            long sum = 0;
+            for (int i = 0; i < ops; i++) {
+                sum += plain[i % plain.length].getPrice();
+            }
+            return sum;
+        });
+        cases.add("asis getPrice 단형 옵션1", ops -> {
+            long sum = 0;
+            for (int i = 0; i < ops; i++) {
+                sum += oneOption[i % oneOption.length].getPrice();
+            }
+            return sum;
+        });
+        cases.add("asis getPrice 단형 옵션2", ops -> {
+            long sum = 0;
+            for (int i = 0; i < ops; i++) {
+                sum += twoOptions[i % twoOptions.length].getPrice();
+            }
+            return sum;
+        });
+        cases.add("asis getPrice 다형 호출", ops -> {
+            long sum = 0;
+            for (int i = 0; i < ops; i++) {
+                sum += mega[i % mega.length].getPrice();
+            }
+            return sum;
+        });
+        cases.add("asis getDescription 다형 호출", ops -> {
+            long sum = 0;
+            for (int i = 0; i < ops; i++) {
+                sum += mega[i % mega.length].getDescription().length();
+            }
+            return sum;
+        });
+        // 만든 주문을 배열에 남겨 탈출시킨다. 그대로 버리면 탈출 분석이 할당을 지워 0 B/op가 나온다
+        Coffee[] created = new Coffee[MicroBenchmark.ESCAPE_SLOTS];
+        cases.add("asis 주문 생성 + getPrice (옵션2)", ops -> {
+            long sum = 0;
+            for (int i = 0; i < ops; i++) {
+                Coffee coffee = new AmericanoWithExtraShotAndSyrup();
+                created[i & (created.length - 1)] = coffee;
+                sum += coffee.getPrice();
+            }
+            return sum;
+        });
+    }
+}
@@ -0,0 +1,13 @@
+package Chapter_01.composition.asis;
+
+class Latte extends Coffee {
+    @Override
+    String getDescription() {
+        return "Latte";
+    }
+
+    @Override
+    int getPrice() {
+        return 4000;
+    }
+}
@@ -0,0 +1,12 @@
+package Chapter_01.composition.tobe;
+
+// 기본 커피 구현체들
+class Americano implements Coffee {
+    public String getDescription() {
+        return "아메리카노";
+    }
+
+    public int getPrice() {
+        return 4000;
+    }
+}
@@ -0,0 +1,108 @@
+package Chapter_01.composition.tobe;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 컬럼 저장소에 쌓인 주문을 병렬로 가격 계산하고 매출을 집계한다.
+ * <p>
+ * 가격 정의는 Coffee/CoffeeOption 그대로 쓰되, 계산 전에 한 번만 꺼내서
+ * int 배열(가격표)로 만들어 둔다. 이후 커널은 배열만 훑으므로 가상 호출이 없다.
+ * <p>
+ * 작업은 fork/join으로 절반씩 쪼개고, 각 구간은 자기 RevenueReport에 집계한 뒤 합친다.
+ * 구간끼리 쓰는 칸이 겹치지 않으므로 락이 필요 없다.
+ */
+public class BulkPricingEngine {
+
+    // 이보다 작은 구간은 더 쪼개지 않고 한 스레드에서 처리
+    private static final int LEAF_SIZE = 1 << 16;
+
+    private final ForkJoinPool pool;
+
+    public BulkPricingEngine() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public BulkPricingEngine(ForkJoinPool pool) {
+        this.pool = Objects.requireNonNull(pool, "pool must not be null");
+    }
+
+    // 가격은 저장소가 주문을 받을 때 쓴 카탈로그로 계산한다 (ID가 그 카탈로그 기준이므로)
+    public RevenueReport price(ColumnarOrderStore store) {
+        Objects.requireNonNull(store, "store must not be null");
+        CoffeeCatalog catalog = store.getCatalog();
+
+        int[] basePrices = new int[catalog.coffeeCount()];
+        for (int id = 0; id < basePrices.length; id++) {
+            basePrices[id] = catalog.getCoffee(id).getPrice();
+        }
+        int[] optionPrices = new int[catalog.optionCount()];
+        for (int id = 0; id < optionPrices.length; id++) {
+            optionPrices[id] = catalog.getOption(id).getAdditionalPrice();
+        }
+
+        return pool.invoke(new PricingTask(store, basePrices, optionPrices, 0, store.size()));
+    }
+
+    private static final class PricingTask extends RecursiveTask<RevenueReport> {
+        private static final long serialVersionUID = 1L;
+
+        private final ColumnarOrderStore store;
+        private final int[] basePrices;
+        private final int[] optionPrices;
+        private final int from;
+        private final int to;
+
+        PricingTask(ColumnarOrderStore store, int[] basePrices, int[] optionPrices, int from, int to) {
+            this.store = store;
+            this.basePrices = basePrices;
+            this.optionPrices = optionPrices;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected RevenueReport compute() {
+            if (to - from <= LEAF_SIZE) {
+                return computeLeaf();
+            }
+            int mid = (from + to) >>> 1;
+            PricingTask left = new PricingTask(store, basePrices, optionPrices, from, mid);
+            PricingTask right = new PricingTask(store, basePrices, optionPrices, mid, to);
+            left.fork();
+            RevenueReport rightReport = right.compute();
+            return left.join().merge(rightReport);
+        }
+
+        private RevenueReport computeLeaf() {
+            int[] baseIds = store.baseIdColumn();
+            long[] optionCounts = store.optionCountColumn();
+            long[] totals = store.totalColumn();
+
+            RevenueReport report = new RevenueReport(basePrices.length, optionPrices.length);
+            long[] optionUnits = new long[optionPrices.length];
+
+            for (int i = from; i < to; i++) {
+                int baseId = baseIds[i];
+                long counts = optionCounts[i];
+                long total = basePrices[baseId];
+                for (int optionId = 0; counts != 0; optionId++) {
+                    int count = (int) counts & CompactCoffeeOrder.MAX_OPTION_COUNT;
+                    total += (long) count * optionPrices[optionId];
+                    optionUnits[optionId] += count;
+                    counts >>>= CompactCoffeeOrder.BITS_PER_OPTION;
+                }
+                totals[i] = total;
+                report.addBase(baseId, total);
+            }
+
+            // 옵션 매출은 구간이 끝난 뒤 수량 × 단가로 한 번에 계산
+            for (int optionId = 0; optionId < optionPrices.length; optionId++) {
+                int units = (int) optionUnits[optionId];
+                report.addOption(optionId, units, (long) units * optionPrices[optionId]);
+            }
+            return report;
+        }
+    }
+}
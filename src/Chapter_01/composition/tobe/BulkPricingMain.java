@@ -0,0 +1,44 @@
+package Chapter_01.composition.tobe;
+
+import java.util.SplittableRandom;
+
+/**
+ * 대량 주문 가격 계산 데모
+ * 무작위 과거 주문을 컬럼 저장소에 쌓고, 병렬 커널로 한 번에 가격/매출을 계산한다.
+ */
+public class BulkPricingMain {
+
+    private static final int ORDER_COUNT = 20_000_000;
+
+    public static void main(String[] args) {
+        CoffeeCatalog catalog = CoffeeCatalog.standard();
+        ColumnarOrderStore store = new ColumnarOrderStore(catalog, ORDER_COUNT);
+
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            long optionCounts = 0;
+            for (int optionId = 0; optionId < catalog.optionCount(); optionId++) {
+                optionCounts |= (long) random.nextInt(3) << (optionId * CompactCoffeeOrder.BITS_PER_OPTION);
+            }
+            store.append(random.nextInt(catalog.coffeeCount()), optionCounts);
+        }
+
+        BulkPricingEngine engine = new BulkPricingEngine();
+        engine.price(store); // 워밍업
+
+        long start = System.nanoTime();
+        RevenueReport report = engine.price(store);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println("주문 " + report.totalOrders() + "건 계산: " + elapsedMillis + "ms");
+        System.out.println("총 매출: " + report.totalRevenue() + "원");
+        for (int id = 0; id < catalog.coffeeCount(); id++) {
+            System.out.println("  " + catalog.getCoffee(id).getDescription()
+                    + ": " + report.unitsByBase(id) + "잔 / " + report.revenueByBase(id) + "원");
+        }
+        for (int id = 0; id < catalog.optionCount(); id++) {
+            System.out.println("  " + catalog.getOption(id).getOptionDescription()
+                    + ": " + report.unitsByOption(id) + "개 / " + report.revenueByOption(id) + "원");
+        }
+    }
+}
@@ -5,25 +5,3 @@ public interface Coffee {
 
     int getPrice();
 }
-
-// 기본 커피 구현체들
-class Americano implements Coffee {
-    public String getDescription() {
-        return "아메리카노";
-    }
-
-    public int getPrice() {
-        return 4000;
-    }
-}
-
-class Latte implements Coffee {
-    public String getDescription() {
-        return "라떼";
-    }
-
-    public int getPrice() {
-        return 4500;
-    }
-}
-
@@ -0,0 +1,115 @@
+package Chapter_01.composition.tobe;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 커피/옵션 플라이웨이트 카탈로그
+ * <p>
+ * 커피와 옵션은 상태가 없으므로 종류별로 인스턴스 하나면 충분하다.
+ * 카탈로그가 종류별 공유 인스턴스를 하나씩 들고, 각각에 작은 정수 ID를 붙인다.
+ * 주문은 객체 대신 이 ID만 들고 있으면 된다. (CompactCoffeeOrder 참고)
+ */
+public final class CoffeeCatalog {
+
+    // 옵션 개수는 CompactCoffeeOrder가 long 하나에 4비트씩 담으므로 최대 16종
+    public static final int MAX_OPTIONS = Long.SIZE / CompactCoffeeOrder.BITS_PER_OPTION;
+
+    private static final CoffeeCatalog STANDARD = new CoffeeCatalog(
+            List.of(new Americano(), new Latte()),
+            List.of(new ExtraShot(), new VanillaSyrup(), new OatMilk()));
+
+    private final Coffee[] coffees;
+    private final CoffeeOption[] options;
+    private final Map<Class<?>, Integer> coffeeIds = new HashMap<>();
+    private final Map<Class<?>, Integer> optionIds = new HashMap<>();
+
+    public CoffeeCatalog(List<? extends Coffee> coffees, List<? extends CoffeeOption> options) {
+        Objects.requireNonNull(coffees, "coffees must not be null");
+        Objects.requireNonNull(options, "options must not be null");
+        if (options.size() > MAX_OPTIONS) {
+            throw new IllegalArgumentException("옵션은 최대 " + MAX_OPTIONS + "종까지 등록할 수 있습니다");
+        }
+
+        this.coffees = coffees.toArray(new Coffee[0]);
+        this.options = options.toArray(new CoffeeOption[0]);
+        for (int id = 0; id < this.coffees.length; id++) {
+            if (coffeeIds.put(this.coffees[id].getClass(), id) != null) {
+                throw new IllegalArgumentException("이미 등록된 커피입니다: " + this.coffees[id].getDescription());
+            }
+        }
+        for (int id = 0; id < this.options.length; id++) {
+            if (optionIds.put(this.options[id].getClass(), id) != null) {
+                throw new IllegalArgumentException("이미 등록된 옵션입니다: " + this.options[id].getOptionDescription());
+            }
+        }
+    }
+
+    // 기본 메뉴(아메리카노, 라떼 / 샷 추가, 바닐라 시럽, 오트밀크)
+    public static CoffeeCatalog standard() {
+        return STANDARD;
+    }
+
+    // === 클래스 → 공유 인스턴스 ===
+
+    public <T extends Coffee> T coffee(Class<T> type) {
+        return type.cast(coffees[coffeeId(type)]);
+    }
+
+    public <T extends CoffeeOption> T option(Class<T> type) {
+        return type.cast(options[optionId(type)]);
+    }
+
+    // 밖에서 만들어진 객체를 같은 종류의 공유 인스턴스로 바꿔준다
+    public Coffee intern(Coffee coffee) {
+        return coffees[coffeeIdOf(coffee)];
+    }
+
+    public CoffeeOption intern(CoffeeOption option) {
+        return options[optionIdOf(option)];
+    }
+
+    // === 객체 ↔ ID ===
+
+    public int coffeeIdOf(Coffee coffee) {
+        return coffeeId(Objects.requireNonNull(coffee, "coffee must not be null").getClass());
+    }
+
+    public int optionIdOf(CoffeeOption option) {
+        return optionId(Objects.requireNonNull(option, "option must not be null").getClass());
+    }
+
+    public Coffee getCoffee(int coffeeId) {
+        return coffees[coffeeId];
+    }
+
+    public CoffeeOption getOption(int optionId) {
+        return options[optionId];
+    }
+
+    public int coffeeCount() {
+        return coffees.length;
+    }
+
+    public int optionCount() {
+        return options.length;
+    }
+
+    private int coffeeId(Class<?> type) {
+        Integer id = coffeeIds.get(type);
+        if (id == null) {
+            throw new IllegalArgumentException("카탈로그에 없는 커피입니다: " + type.getSimpleName());
+        }
+        return id;
+    }
+
+    private int optionId(Class<?> type) {
+        Integer id = optionIds.get(type);
+        if (id == null) {
+            throw new IllegalArgumentException("카탈로그에 없는 옵션입니다: " + type.getSimpleName());
+        }
+        return id;
+    }
+}
@@ -3,39 +3,97 @@ package Chapter_01.composition.tobe;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 public class CoffeeOrder {
     private final Coffee baseCoffee;
     private final List<CoffeeOption> options;
 
+    // 옵션이 바뀔 때마다 갱신되는 누적 가격 (조회 시 매번 합산하지 않음)
+    private int totalPrice;
+    // 처음 조회할 때 만들어 두고, 옵션이 바뀔 때만 무효화 (null이면 다시 만들어야 함)
+    private String description;
+
     public CoffeeOrder(Coffee baseCoffee) {
         this.baseCoffee = Objects.requireNonNull(baseCoffee, "baseCoffee must not be null");
         this.options = new ArrayList<>();
+        this.totalPrice = baseCoffee.getPrice();
     }
 
     public CoffeeOrder addOption(CoffeeOption option) {
         options.add(Objects.requireNonNull(option, "option must not be null"));
+        totalPrice += option.getAdditionalPrice();
+        description = null;
+        return this;
+    }
+
+    // 같은 옵션이 여러 개면 하나만 제거한다
+    public CoffeeOrder removeOption(CoffeeOption option) {
+        Objects.requireNonNull(option, "option must not be null");
+        if (options.remove(option)) {
+            totalPrice -= option.getAdditionalPrice();
+            description = null;
+        }
+        return this;
+    }
+
+    public CoffeeOrder replaceOption(CoffeeOption oldOption, CoffeeOption newOption) {
+        Objects.requireNonNull(oldOption, "oldOption must not be null");
+        Objects.requireNonNull(newOption, "newOption must not be null");
+
+        int index = options.indexOf(oldOption);
+        if (index < 0) {
+            throw new IllegalArgumentException("주문에 없는 옵션입니다: " + oldOption.getOptionDescription());
+        }
+        options.set(index, newOption);
+        totalPrice += newOption.getAdditionalPrice() - oldOption.getAdditionalPrice();
+        description = null;
         return this;
     }
 
     public String getDescription() {
+        String cached = description;
+        if (cached == null) {
+            cached = buildDescription();
+            description = cached;
+        }
+        return cached;
+    }
+
+    // 캐시를 거치지 않고 옵션마다 getOptionDescription()을 호출해서 만든다 (벤치마크에서 직접 측정)
+    String buildDescription() {
         if (options.isEmpty()) {
             return baseCoffee.getDescription();
         }
 
-        String optionDesc = options.stream()
-                .map(CoffeeOption::getOptionDescription)
-                .collect(Collectors.joining(", "));
-
-        return baseCoffee.getDescription() + " (" + optionDesc + ")";
+        StringBuilder sb = new StringBuilder(baseCoffee.getDescription()).append(" (");
+        for (int i = 0; i < options.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(options.get(i).getOptionDescription());
+        }
+        return sb.append(')').toString();
     }
 
     public int getTotalPrice() {
-        int optionPrice = options.stream()
-                .mapToInt(CoffeeOption::getAdditionalPrice)
-                .sum();
+        return totalPrice;
+    }
 
-        return baseCoffee.getPrice() + optionPrice;
+    // 누적 가격을 쓰지 않고 옵션마다 getAdditionalPrice()를 호출해서 다시 합산한다 (벤치마크에서 직접 측정)
+    int computeTotalPrice() {
+        int price = baseCoffee.getPrice();
+        for (int i = 0; i < options.size(); i++) {
+            price += options.get(i).getAdditionalPrice();
+        }
+        return price;
+    }
+
+    // 카탈로그 ID 기반의 압축 주문으로 변환 (분석/저장용)
+    public CompactCoffeeOrder toCompact(CoffeeCatalog catalog) {
+        CompactCoffeeOrder compact = CompactCoffeeOrder.of(catalog, baseCoffee);
+        for (CoffeeOption option : options) {
+            compact = compact.addOption(option);
+        }
+        return compact;
     }
 }
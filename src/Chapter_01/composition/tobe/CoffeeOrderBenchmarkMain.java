@@ -0,0 +1,67 @@
+package Chapter_01.composition.tobe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 옵션 개수에 따른 getTotalPrice()/getDescription() 호출 비용 비교
+ * <p>
+ * - 매번 계산: 호출할 때마다 옵션 리스트 전체를 stream으로 다시 훑음 → O(옵션 수)
+ * - CoffeeOrder: 누적 가격 + 캐시된 설명 → 옵션이 늘어도 호출 비용이 일정
+ */
+public class CoffeeOrderBenchmarkMain {
+
+    private static final int CALLS = 200_000;
+
+    public static void main(String[] args) {
+        CoffeeOption[] menu = {new ExtraShot(), new VanillaSyrup(), new OatMilk()};
+
+        for (int optionCount : new int[]{1, 10, 100, 1000}) {
+            CoffeeOrder order = new CoffeeOrder(new Latte());
+            List<CoffeeOption> options = new ArrayList<>();
+            for (int i = 0; i < optionCount; i++) {
+                order.addOption(menu[i % menu.length]);
+                options.add(menu[i % menu.length]);
+            }
+            Coffee base = new Latte();
+
+            // 워밍업
+            measureRecompute(base, options);
+            measureCached(order);
+
+            System.out.printf("옵션 %4d개 | 매번 계산: %8.1f ns/call | 캐시: %6.1f ns/call%n",
+                    optionCount, measureRecompute(base, options), measureCached(order));
+        }
+    }
+
+    private static double measureRecompute(Coffee base, List<CoffeeOption> options) {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            int price = base.getPrice() + options.stream().mapToInt(CoffeeOption::getAdditionalPrice).sum();
+            String desc = base.getDescription() + " (" + options.stream()
+                    .map(CoffeeOption::getOptionDescription)
+                    .collect(Collectors.joining(", ")) + ")";
+            sink += price + desc.length();
+        }
+        return report(start, sink);
+    }
+
+    private static double measureCached(CoffeeOrder order) {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            sink += order.getTotalPrice() + order.getDescription().length();
+        }
+        return report(start, sink);
+    }
+
+    private static double report(long startNanos, long sink) {
+        double nsPerCall = (double) (System.nanoTime() - startNanos) / CALLS;
+        if (sink == 42) {
+            System.out.println(); // JIT이 루프를 통째로 없애지 못하도록 결과를 사용
+        }
+        return nsPerCall;
+    }
+}
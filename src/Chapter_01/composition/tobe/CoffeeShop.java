@@ -2,19 +2,48 @@ package Chapter_01.composition.tobe;
 
 public class CoffeeShop {
     public static void main(String[] args) {
+        // 커피/옵션은 카탈로그의 공유 인스턴스(플라이웨이트)를 꺼내 쓴다 → 주문마다 new 하지 않음
+        CoffeeCatalog catalog = CoffeeCatalog.standard();
+        Coffee americano = catalog.coffee(Americano.class);
+        Coffee latte = catalog.coffee(Latte.class);
+        CoffeeOption extraShot = catalog.option(ExtraShot.class);
+        CoffeeOption vanillaSyrup = catalog.option(VanillaSyrup.class);
+        CoffeeOption oatMilk = catalog.option(OatMilk.class);
+
         // 그냥 아메리카노 시키기
-        CoffeeOrder order1 = new CoffeeOrder(new Americano());
+        CoffeeOrder order1 = new CoffeeOrder(americano);
         System.out.println(order1.getDescription());
         System.out.println(order1.getTotalPrice());
 
         // 아메리카노에 샷 추가하고 바닐라 시럽 말아버리기
-        CoffeeOrder order2 = new CoffeeOrder(new Americano()).addOption(new ExtraShot()).addOption(new VanillaSyrup());
+        CoffeeOrder order2 = new CoffeeOrder(americano).addOption(extraShot).addOption(vanillaSyrup);
         System.out.println(order2.getDescription());
         System.out.println(order2.getTotalPrice());
 
         // 라떼에 오트밀크 추가하기
-        CoffeeOrder order3 = new CoffeeOrder(new Latte()).addOption(new OatMilk());
+        CoffeeOrder order3 = new CoffeeOrder(latte).addOption(oatMilk);
         System.out.println(order3.getDescription());
         System.out.println(order3.getTotalPrice());
+
+        // 주문 수정: 샷 추가를 오트밀크로 바꿨다가, 다시 빼기
+        CoffeeOrder order4 = new CoffeeOrder(latte).addOption(extraShot).replaceOption(extraShot, oatMilk);
+        System.out.println(order4.getDescription());
+        System.out.println(order4.getTotalPrice());
+        order4.removeOption(oatMilk);
+        System.out.println(order4.getDescription());
+        System.out.println(order4.getTotalPrice());
+
+        // 압축 주문: 베이스 ID + 옵션 개수 벡터(long 하나)만 들고 있음
+        CompactCoffeeOrder compact = CompactCoffeeOrder.of(catalog, americano)
+                .addOption(extraShot)
+                .addOption(extraShot)
+                .addOption(vanillaSyrup);
+        System.out.println(compact.getDescription());
+        System.out.println(compact.getTotalPrice());
+
+        // 미리 컴파일된 가격표: 가격 계산이 배열 조회 한 번으로 끝남
+        MenuPriceTable priceTable = new MenuPriceTable(catalog, 3);
+        System.out.println(priceTable.descriptionOf(compact));
+        System.out.println(priceTable.priceOf(compact));
     }
 }
@@ -0,0 +1,110 @@
+package Chapter_01.composition.tobe;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 대량 주문용 컬럼 저장소 (Structure of Arrays)
+ * <p>
+ * 주문 1억 건을 CoffeeOrder 객체 1억 개로 만들면 객체 헤더, 리스트, 옵션 참조만으로
+ * 힙이 가득 찬다. 여기서는 주문 하나를 "각 배열의 같은 칸"으로 표현한다.
+ * <pre>
+ * baseIds      : int[]  베이스 커피 ID
+ * optionCounts : long[] 옵션 개수 벡터 (CompactCoffeeOrder와 같은 4비트 packing)
+ * totals       : long[] 가격 계산 결과 (BulkPricingEngine이 채움)
+ * </pre>
+ * 같은 종류의 값이 메모리에 연속으로 놓이므로 순차 스캔이 빠르고 병렬로 나누기도 쉽다.
+ * <p>
+ * 저장소는 카탈로그 하나에 묶이며, append 때 커피 ID와 옵션 벡터가 그 카탈로그 범위 안인지 확인한다.
+ * (잘못된 값이 들어가면 나중에 가격 계산 커널에서야 터지기 때문)
+ * <p>
+ * 쓰기(append)는 한 스레드에서만 한다고 가정한다.
+ */
+public class ColumnarOrderStore {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8; // 배열 헤더 여유
+
+    private final CoffeeCatalog catalog;
+    private int[] baseIds;
+    private long[] optionCounts;
+    private long[] totals;
+    private int size;
+
+    public ColumnarOrderStore(CoffeeCatalog catalog) {
+        this(catalog, DEFAULT_CAPACITY);
+    }
+
+    public ColumnarOrderStore(CoffeeCatalog catalog, int initialCapacity) {
+        this.catalog = Objects.requireNonNull(catalog, "catalog must not be null");
+        if (initialCapacity <= 0 || initialCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("initialCapacity는 1 ~ " + MAX_CAPACITY + " 사이여야 합니다: " + initialCapacity);
+        }
+        this.baseIds = new int[initialCapacity];
+        this.optionCounts = new long[initialCapacity];
+        this.totals = new long[initialCapacity];
+    }
+
+    public void append(int baseId, long optionCountVector) {
+        CompactCoffeeOrder.validate(catalog, baseId, optionCountVector);
+        if (size == baseIds.length) {
+            grow();
+        }
+        baseIds[size] = baseId;
+        optionCounts[size] = optionCountVector;
+        size++;
+    }
+
+    public void append(CompactCoffeeOrder order) {
+        if (order.getCatalog() != catalog) {
+            throw new IllegalArgumentException("다른 카탈로그로 만든 주문입니다");
+        }
+        append(order.getBaseId(), order.getOptionCounts());
+    }
+
+    // 1.5배씩 늘리되 최소 1칸은 늘린다 (용량 1에서도 커지도록)
+    private void grow() {
+        int length = baseIds.length;
+        if (length >= MAX_CAPACITY) {
+            throw new IllegalStateException("저장소 용량 한계에 도달했습니다: " + length);
+        }
+        int newCapacity = (int) Math.min(MAX_CAPACITY, Math.max(length + 1L, length + (length >> 1)));
+        baseIds = Arrays.copyOf(baseIds, newCapacity);
+        optionCounts = Arrays.copyOf(optionCounts, newCapacity);
+        totals = Arrays.copyOf(totals, newCapacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public CoffeeCatalog getCatalog() {
+        return catalog;
+    }
+
+    public int baseIdAt(int index) {
+        return baseIds[index];
+    }
+
+    public long optionCountsAt(int index) {
+        return optionCounts[index];
+    }
+
+    public long totalAt(int index) {
+        return totals[index];
+    }
+
+    // === 가격 계산 커널 전용 (같은 패키지에서 배열을 직접 훑는다) ===
+
+    int[] baseIdColumn() {
+        return baseIds;
+    }
+
+    long[] optionCountColumn() {
+        return optionCounts;
+    }
+
+    long[] totalColumn() {
+        return totals;
+    }
+}
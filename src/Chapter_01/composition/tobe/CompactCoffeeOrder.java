@@ -0,0 +1,123 @@
+package Chapter_01.composition.tobe;
+
+import java.util.Objects;
+
+/**
+ * ID 기반의 압축된 주문 표현
+ * <p>
+ * CoffeeOrder는 옵션 객체들의 ArrayList를 들고 있지만,
+ * 이 클래스는 베이스 커피 ID 하나와 옵션별 개수 벡터(long 하나)만 들고 있다.
+ * 옵션 하나당 4비트 → 같은 옵션은 최대 15개, 옵션 종류는 최대 16개.
+ * <p>
+ * 불변 객체라서 여러 스레드가 공유해도 안전하다.
+ * 설명 문자열은 카탈로그 순서대로 옵션을 나열한다.
+ */
+public final class CompactCoffeeOrder {
+
+    static final int BITS_PER_OPTION = 4;
+    public static final int MAX_OPTION_COUNT = (1 << BITS_PER_OPTION) - 1;
+
+    private final CoffeeCatalog catalog;
+    private final int baseId;
+    private final long optionCounts;
+
+    private CompactCoffeeOrder(CoffeeCatalog catalog, int baseId, long optionCounts) {
+        this.catalog = catalog;
+        this.baseId = baseId;
+        this.optionCounts = optionCounts;
+    }
+
+    public static CompactCoffeeOrder of(CoffeeCatalog catalog, Coffee baseCoffee) {
+        Objects.requireNonNull(catalog, "catalog must not be null");
+        return new CompactCoffeeOrder(catalog, catalog.coffeeIdOf(baseCoffee), 0L);
+    }
+
+    public static CompactCoffeeOrder of(CoffeeCatalog catalog, int baseId, long optionCounts) {
+        Objects.requireNonNull(catalog, "catalog must not be null");
+        validate(catalog, baseId, optionCounts);
+        return new CompactCoffeeOrder(catalog, baseId, optionCounts);
+    }
+
+    // 커피 ID와 옵션 개수 벡터가 카탈로그 범위 안인지 확인 (컬럼 저장소도 같은 규칙을 쓴다)
+    static void validate(CoffeeCatalog catalog, int baseId, long optionCounts) {
+        if (baseId < 0 || baseId >= catalog.coffeeCount()) {
+            throw new IllegalArgumentException("카탈로그에 없는 커피 ID입니다: " + baseId);
+        }
+        if (catalog.optionCount() < CoffeeCatalog.MAX_OPTIONS
+                && (optionCounts >>> (catalog.optionCount() * BITS_PER_OPTION)) != 0) {
+            throw new IllegalArgumentException("카탈로그에 없는 옵션이 포함되어 있습니다");
+        }
+    }
+
+    // 옵션을 하나 더한 새 주문을 돌려준다 (불변)
+    public CompactCoffeeOrder addOption(CoffeeOption option) {
+        int optionId = catalog.optionIdOf(option);
+        int count = countOf(optionId);
+        if (count == MAX_OPTION_COUNT) {
+            throw new IllegalArgumentException("같은 옵션은 최대 " + MAX_OPTION_COUNT + "개까지 추가할 수 있습니다");
+        }
+        return new CompactCoffeeOrder(catalog, baseId, optionCounts + (1L << shift(optionId)));
+    }
+
+    public String getDescription() {
+        Coffee base = catalog.getCoffee(baseId);
+        if (optionCounts == 0) {
+            return base.getDescription();
+        }
+
+        StringBuilder sb = new StringBuilder(base.getDescription()).append(" (");
+        boolean first = true;
+        for (int id = 0; id < catalog.optionCount(); id++) {
+            String optionDesc = catalog.getOption(id).getOptionDescription();
+            for (int n = countOf(id); n > 0; n--) {
+                if (!first) {
+                    sb.append(", ");
+                }
+                sb.append(optionDesc);
+                first = false;
+            }
+        }
+        return sb.append(')').toString();
+    }
+
+    public int getTotalPrice() {
+        int price = catalog.getCoffee(baseId).getPrice();
+        for (int id = 0; id < catalog.optionCount(); id++) {
+            price += countOf(id) * catalog.getOption(id).getAdditionalPrice();
+        }
+        return price;
+    }
+
+    public CoffeeCatalog getCatalog() {
+        return catalog;
+    }
+
+    public int getBaseId() {
+        return baseId;
+    }
+
+    public long getOptionCounts() {
+        return optionCounts;
+    }
+
+    public int countOf(int optionId) {
+        return (int) (optionCounts >>> shift(optionId)) & MAX_OPTION_COUNT;
+    }
+
+    private static int shift(int optionId) {
+        return optionId * BITS_PER_OPTION;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CompactCoffeeOrder)) return false;
+        CompactCoffeeOrder that = (CompactCoffeeOrder) o;
+        return catalog == that.catalog && baseId == that.baseId && optionCounts == that.optionCounts;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * baseId + Long.hashCode(optionCounts);
+    }
+}
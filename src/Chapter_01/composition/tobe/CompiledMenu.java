@@ -0,0 +1,123 @@
+package Chapter_01.composition.tobe;
+
+import java.util.Objects;
+
+/**
+ * 메뉴 컴파일 결과: 모든 (베이스 × 옵션 조합)의 가격과 설명을 미리 계산한 표
+ * <p>
+ * 가격은 "베이스 가격 + 옵션 가격의 합"이라는 순수 함수라서 미리 다 계산해 둘 수 있다.
+ * 옵션마다 0 ~ maxPerOption 개를 고를 수 있다고 보고, 옵션 개수 벡터를
+ * (maxPerOption + 1) 진법의 숫자로 읽으면 조합마다 겹치지 않는 인덱스가 나온다. (완전 해시)
+ * <p>
+ * 인덱스 = baseId × (조합 수) + Σ count[i] × radix^i
+ * <p>
+ * 한 번 만들어지면 바뀌지 않는 불변 객체다. 메뉴가 바뀌면 새로 컴파일한다. (MenuPriceTable 참고)
+ */
+public final class CompiledMenu {
+
+    // 표가 너무 커지지 않도록 제한
+    // 항목 하나 = int 가격 4B + 설명 참조 + 설명 String (객체 머리 약 40B + 한글이라 글자당 2B)
+    // 설명은 고른 옵션 수만큼 길어진다. 표준 카탈로그에 maxPerOption 15면 평균 176자, 최대 351자
+    // → 항목당 평균 약 400B, 최대 약 750B. 65,536개면 평균 약 25MB, 최악 약 50MB
+    static final int MAX_TABLE_SIZE = 1 << 16;
+
+    private final CoffeeCatalog catalog;
+    private final int radix;
+    private final int combinationsPerBase;
+    private final int[] prices;
+    private final String[] descriptions;
+
+    private CompiledMenu(CoffeeCatalog catalog, int radix, int combinationsPerBase,
+                         int[] prices, String[] descriptions) {
+        this.catalog = catalog;
+        this.radix = radix;
+        this.combinationsPerBase = combinationsPerBase;
+        this.prices = prices;
+        this.descriptions = descriptions;
+    }
+
+    /**
+     * 메뉴 컴파일러
+     *
+     * @param maxPerOption 같은 옵션을 몇 개까지 표에 넣을지 (그 이상은 표 밖 → 직접 계산)
+     */
+    public static CompiledMenu compile(CoffeeCatalog catalog, int maxPerOption) {
+        Objects.requireNonNull(catalog, "catalog must not be null");
+        if (maxPerOption < 0 || maxPerOption > CompactCoffeeOrder.MAX_OPTION_COUNT) {
+            throw new IllegalArgumentException("maxPerOption은 0 ~ " + CompactCoffeeOrder.MAX_OPTION_COUNT + " 사이여야 합니다");
+        }
+
+        int radix = maxPerOption + 1;
+        long combinations = 1;
+        for (int i = 0; i < catalog.optionCount(); i++) {
+            combinations *= radix;
+            if (combinations * catalog.coffeeCount() > MAX_TABLE_SIZE) {
+                throw new IllegalArgumentException("메뉴 조합이 너무 많습니다. maxPerOption을 줄이세요");
+            }
+        }
+
+        int combinationsPerBase = (int) combinations;
+        int size = combinationsPerBase * catalog.coffeeCount();
+        int[] prices = new int[size];
+        String[] descriptions = new String[size];
+
+        for (int baseId = 0; baseId < catalog.coffeeCount(); baseId++) {
+            for (int combination = 0; combination < combinationsPerBase; combination++) {
+                CompactCoffeeOrder order = CompactCoffeeOrder.of(catalog, baseId, toOptionCounts(combination, radix, catalog.optionCount()));
+                int index = baseId * combinationsPerBase + combination;
+                prices[index] = order.getTotalPrice();
+                descriptions[index] = order.getDescription();
+            }
+        }
+        return new CompiledMenu(catalog, radix, combinationsPerBase, prices, descriptions);
+    }
+
+    // 조합 번호(radix 진법)를 옵션 개수 벡터(4비트씩 packed long)로 풀어낸다
+    private static long toOptionCounts(int combination, int radix, int optionCount) {
+        long optionCounts = 0;
+        for (int optionId = 0; optionId < optionCount; optionId++) {
+            optionCounts |= (long) (combination % radix) << (optionId * CompactCoffeeOrder.BITS_PER_OPTION);
+            combination /= radix;
+        }
+        return optionCounts;
+    }
+
+    /**
+     * 주문의 표 인덱스. 표 밖의 조합(다른 카탈로그, 옵션 개수 초과)이면 -1
+     */
+    public int indexOf(CompactCoffeeOrder order) {
+        if (order.getCatalog() != catalog) {
+            return -1;
+        }
+        int combination = 0;
+        int weight = 1;
+        for (int optionId = 0; optionId < catalog.optionCount(); optionId++) {
+            int count = order.countOf(optionId);
+            if (count >= radix) {
+                return -1;
+            }
+            combination += count * weight;
+            weight *= radix;
+        }
+        return order.getBaseId() * combinationsPerBase + combination;
+    }
+
+    // 배열 조회 한 번. 표 밖이면 주문이 직접 계산한다
+    public int priceOf(CompactCoffeeOrder order) {
+        int index = indexOf(order);
+        return index >= 0 ? prices[index] : order.getTotalPrice();
+    }
+
+    public String descriptionOf(CompactCoffeeOrder order) {
+        int index = indexOf(order);
+        return index >= 0 ? descriptions[index] : order.getDescription();
+    }
+
+    public CoffeeCatalog getCatalog() {
+        return catalog;
+    }
+
+    public int size() {
+        return prices.length;
+    }
+}
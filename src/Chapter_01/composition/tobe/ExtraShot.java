@@ -0,0 +1,7 @@
+package Chapter_01.composition.tobe;
+
+// 구체적인 옵션들
+class ExtraShot implements CoffeeOption {
+    public String getOptionDescription() { return "샷 추가"; }
+    public int getAdditionalPrice() { return 500; }
+}
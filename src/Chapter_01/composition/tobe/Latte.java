@@ -0,0 +1,11 @@
+package Chapter_01.composition.tobe;
+
+class Latte implements Coffee {
+    public String getDescription() {
+        return "라떼";
+    }
+
+    public int getPrice() {
+        return 4500;
+    }
+}
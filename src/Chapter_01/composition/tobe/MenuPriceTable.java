@@ -0,0 +1,39 @@
+package Chapter_01.composition.tobe;
+
+import java.util.Objects;
+
+/**
+ * 영업 중에 메뉴가 바뀌어도 안전한 가격표
+ * <p>
+ * 새 메뉴를 옆에서 통째로 컴파일한 뒤 volatile 참조 하나만 바꿔 끼운다.
+ * 조회하는 쪽은 항상 "이전 표 전체" 또는 "새 표 전체" 중 하나만 보게 되고,
+ * 반쯤 만들어진 표를 보는 일은 없다.
+ */
+public class MenuPriceTable {
+
+    private final int maxPerOption;
+    private volatile CompiledMenu menu;
+
+    public MenuPriceTable(CoffeeCatalog catalog, int maxPerOption) {
+        this.maxPerOption = maxPerOption;
+        this.menu = CompiledMenu.compile(catalog, maxPerOption);
+    }
+
+    // 메뉴 변경: 새 카탈로그로 다시 컴파일한 뒤 한 번에 교체
+    public void rebuild(CoffeeCatalog catalog) {
+        Objects.requireNonNull(catalog, "catalog must not be null");
+        this.menu = CompiledMenu.compile(catalog, maxPerOption);
+    }
+
+    public int priceOf(CompactCoffeeOrder order) {
+        return menu.priceOf(order);
+    }
+
+    public String descriptionOf(CompactCoffeeOrder order) {
+        return menu.descriptionOf(order);
+    }
+
+    public CompiledMenu current() {
+        return menu;
+    }
+}
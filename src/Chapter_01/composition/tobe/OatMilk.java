@@ -0,0 +1,6 @@
+package Chapter_01.composition.tobe;
+
+class OatMilk implements CoffeeOption {
+    public String getOptionDescription() { return "오트밀크 변경"; }
+    public int getAdditionalPrice() { return 700; }
+}
@@ -0,0 +1,61 @@
+package Chapter_01.composition.tobe;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 주문 로그 바이너리 포맷
+ * <pre>
+ * 파일 헤더 : "CORD"(4바이트) + 버전(1바이트)
+ * 레코드    : baseId       varint
+ *             optionCounts varint (CompactCoffeeOrder의 4비트 packed 벡터)
+ *             price        varint
+ *             timestamp    zigzag varint (직전 레코드와의 차이, 첫 레코드는 0 기준)
+ * </pre>
+ * varint는 7비트씩 끊어 쓰고 최상위 비트로 "다음 바이트가 더 있음"을 표시한다.
+ * 작은 값일수록 적은 바이트를 쓰므로, 보통 주문 하나가 5~8바이트 정도다.
+ * (커피 ID 1 + 옵션 1~2 + 가격 2 + 시간 차이 1~3바이트, OrderLogMain 기준 평균 약 6.4바이트)
+ */
+final class OrderLogFormat {
+
+    static final int MAGIC = 0x434F5244; // "CORD"
+    static final byte VERSION = 1;
+    static final int HEADER_SIZE = 5;
+
+    // varint long 최대 10바이트 × 4필드
+    static final int MAX_RECORD_SIZE = 40;
+
+    private OrderLogFormat() {
+    }
+
+    static void writeVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static long readVarLong(ByteBuffer buffer) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (!buffer.hasRemaining()) {
+                throw new IllegalStateException("레코드가 중간에 잘려 있습니다");
+            }
+            byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw new IllegalStateException("잘못된 varint입니다");
+    }
+
+    // 음수 차이도 작은 varint가 되도록 부호 비트를 맨 뒤로 옮긴다
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
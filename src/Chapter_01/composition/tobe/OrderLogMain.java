@@ -0,0 +1,76 @@
+package Chapter_01.composition.tobe;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * 주문 로그 쓰기/읽기 데모: 레코드당 바이트 수와 처리량 확인
+ */
+public class OrderLogMain {
+
+    private static final int ORDER_COUNT = 5_000_000;
+
+    public static void main(String[] args) throws IOException {
+        CoffeeCatalog catalog = CoffeeCatalog.standard();
+        Path file = Files.createTempFile("orders", ".log");
+        try {
+            SplittableRandom random = new SplittableRandom(7);
+            long timestamp = System.currentTimeMillis();
+            long writtenTotal = 0;
+
+            long start = System.nanoTime();
+            try (OrderLogWriter writer = new OrderLogWriter(file)) {
+                for (int i = 0; i < ORDER_COUNT; i++) {
+                    long optionCounts = random.nextInt(3) | (long) random.nextInt(2) << 4 | (long) random.nextInt(2) << 8;
+                    CompactCoffeeOrder order = CompactCoffeeOrder.of(catalog, random.nextInt(2), optionCounts);
+                    timestamp += random.nextInt(500);
+                    writer.append(order, timestamp);
+                    writtenTotal += order.getTotalPrice();
+                }
+            }
+            long writeMillis = (System.nanoTime() - start) / 1_000_000;
+
+            long readTotal = 0;
+            long count = 0;
+            start = System.nanoTime();
+            try (OrderLogReader reader = new OrderLogReader(file)) {
+                while (reader.next()) {
+                    readTotal += reader.price();
+                    count++;
+                }
+            }
+            long readMillis = (System.nanoTime() - start) / 1_000_000;
+
+            long size = Files.size(file);
+            System.out.printf("주문 %d건, 파일 %d바이트 (레코드당 %.2f바이트)%n", count, size, (double) size / count);
+            System.out.println("쓰기: " + writeMillis + "ms, 읽기: " + readMillis + "ms");
+            System.out.println("매출 검증: " + (writtenTotal == readTotal ? "일치" : "불일치") + " (" + readTotal + "원)");
+
+            // 이어쓰기: 기존 로그 뒤에 주문을 더 붙인다
+            long lastTimestamp = timestamp;
+            try (OrderLogWriter writer = new OrderLogWriter(file, true)) {
+                for (int i = 0; i < 1_000; i++) {
+                    timestamp += random.nextInt(500);
+                    writer.append(CompactCoffeeOrder.of(catalog, random.nextInt(2), 0L), timestamp);
+                }
+            }
+            long appended = 0;
+            boolean ordered = true;
+            try (OrderLogReader reader = new OrderLogReader(file)) {
+                long previous = Long.MIN_VALUE;
+                while (reader.next()) {
+                    ordered &= reader.timestamp() >= previous;
+                    previous = reader.timestamp();
+                    appended++;
+                }
+                ordered &= previous == timestamp;
+            }
+            System.out.println("이어쓰기 후 주문 " + appended + "건 (추가 " + (appended - count) + "건), 타임스탬프 "
+                    + (ordered && lastTimestamp <= timestamp ? "정상" : "이상"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
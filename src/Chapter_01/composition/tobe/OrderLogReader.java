@@ -0,0 +1,102 @@
+package Chapter_01.composition.tobe;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 주문 로그 리더 (메모리 매핑, 커서 방식)
+ * <p>
+ * 파일을 메모리에 매핑해서 OS 페이지 캐시를 그대로 읽는다. (힙으로 복사하지 않음)
+ * 레코드마다 객체를 만들지 않고, next()로 커서를 옮긴 뒤 getter로 현재 값을 읽는다.
+ * <pre>
+ * while (reader.next()) {
+ *     sum += reader.price();
+ * }
+ * </pre>
+ * 한 번에 매핑할 수 있는 크기(2GB)보다 큰 파일은 창(window)을 옮겨 가며 다시 매핑한다.
+ */
+public class OrderLogReader implements Closeable {
+
+    private static final long WINDOW_BYTES = 1L << 30;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    private int baseId;
+    private long optionCounts;
+    private int price;
+    private long timestamp;
+
+    public OrderLogReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        if (fileSize < OrderLogFormat.HEADER_SIZE) {
+            channel.close();
+            throw new IOException("주문 로그 파일이 아닙니다: " + path);
+        }
+        mapWindow(0);
+        if (window.getInt() != OrderLogFormat.MAGIC || window.get() != OrderLogFormat.VERSION) {
+            channel.close();
+            throw new IOException("지원하지 않는 주문 로그 형식입니다: " + path);
+        }
+    }
+
+    private void mapWindow(long start) throws IOException {
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_BYTES, fileSize - start));
+    }
+
+    // 다음 레코드로 이동. 더 없으면 false
+    public boolean next() throws IOException {
+        long position = windowStart + window.position();
+        if (position >= fileSize) {
+            return false;
+        }
+        // 창 끝에 걸친 레코드는 그 위치부터 새로 매핑해서 읽는다
+        if (window.remaining() < OrderLogFormat.MAX_RECORD_SIZE && windowStart + window.limit() < fileSize) {
+            mapWindow(position);
+        }
+        baseId = (int) OrderLogFormat.readVarLong(window);
+        optionCounts = OrderLogFormat.readVarLong(window);
+        price = (int) OrderLogFormat.readVarLong(window);
+        timestamp += OrderLogFormat.unzigzag(OrderLogFormat.readVarLong(window));
+        return true;
+    }
+
+    // 지금까지 읽은 레코드 끝의 파일 위치 (이어쓰기에서 사용)
+    long position() {
+        return windowStart + window.position();
+    }
+
+    public int baseId() {
+        return baseId;
+    }
+
+    public long optionCounts() {
+        return optionCounts;
+    }
+
+    public int price() {
+        return price;
+    }
+
+    public long timestamp() {
+        return timestamp;
+    }
+
+    // 필요할 때만 객체로 만든다
+    public CompactCoffeeOrder toOrder(CoffeeCatalog catalog) {
+        return CompactCoffeeOrder.of(catalog, baseId, optionCounts);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
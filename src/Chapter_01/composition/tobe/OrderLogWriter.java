@@ -0,0 +1,120 @@
+package Chapter_01.composition.tobe;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 주문 로그 기록기
+ * <p>
+ * 레코드를 direct 버퍼에 모아 두었다가 가득 차면 FileChannel에 한 번에 쓴다.
+ * 주문마다 write 시스템 콜을 하지 않으므로 빠르다.
+ * 한 스레드에서만 사용한다고 가정한다.
+ * <p>
+ * 기본은 파일을 새로 쓴다. (기존 내용은 지운다)
+ * append를 true로 주면 기존 로그 뒤에 이어 쓴다. 이때는 타임스탬프 차이를 이어 가기 위해
+ * 기존 레코드를 한 번 끝까지 읽고, 마지막에 잘린 레코드가 있으면 (쓰다가 죽은 경우) 잘라 낸다.
+ * 같은 파일에 동시에 두 기록기를 열면 안 된다.
+ */
+public class OrderLogWriter implements Closeable {
+
+    private static final int DEFAULT_BATCH_BYTES = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer batch;
+    private long lastTimestamp;
+    private long recordCount;
+
+    public OrderLogWriter(Path path) throws IOException {
+        this(path, DEFAULT_BATCH_BYTES);
+    }
+
+    public OrderLogWriter(Path path, int batchBytes) throws IOException {
+        this(path, batchBytes, false);
+    }
+
+    public OrderLogWriter(Path path, boolean append) throws IOException {
+        this(path, DEFAULT_BATCH_BYTES, append);
+    }
+
+    public OrderLogWriter(Path path, int batchBytes, boolean append) throws IOException {
+        if (batchBytes < OrderLogFormat.MAX_RECORD_SIZE) {
+            throw new IllegalArgumentException("batchBytes가 너무 작습니다: " + batchBytes);
+        }
+        this.batch = ByteBuffer.allocateDirect(batchBytes);
+        if (append && Files.exists(path) && Files.size(path) > 0) {
+            long end = scanExisting(path);
+            this.channel = FileChannel.open(path, StandardOpenOption.WRITE);
+            try {
+                channel.truncate(end);
+                channel.position(end);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        } else {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            batch.putInt(OrderLogFormat.MAGIC).put(OrderLogFormat.VERSION);
+        }
+    }
+
+    // 기존 로그를 끝까지 읽어서 마지막 타임스탬프를 복원하고, 온전한 마지막 레코드의 끝 위치를 돌려준다
+    private long scanExisting(Path path) throws IOException {
+        try (OrderLogReader reader = new OrderLogReader(path)) {
+            long end = reader.position();
+            try {
+                while (reader.next()) {
+                    lastTimestamp = reader.timestamp();
+                    end = reader.position();
+                }
+            } catch (IllegalStateException e) {
+                // 마지막 레코드가 잘려 있다: end 이후는 버린다
+            }
+            return end;
+        }
+    }
+
+    public void append(CompactCoffeeOrder order, long timestamp) throws IOException {
+        append(order.getBaseId(), order.getOptionCounts(), order.getTotalPrice(), timestamp);
+    }
+
+    public void append(int baseId, long optionCounts, int price, long timestamp) throws IOException {
+        if (batch.remaining() < OrderLogFormat.MAX_RECORD_SIZE) {
+            flush();
+        }
+        OrderLogFormat.writeVarLong(batch, baseId);
+        OrderLogFormat.writeVarLong(batch, optionCounts);
+        OrderLogFormat.writeVarLong(batch, price);
+        OrderLogFormat.writeVarLong(batch, OrderLogFormat.zigzag(timestamp - lastTimestamp));
+        lastTimestamp = timestamp;
+        recordCount++;
+    }
+
+    // 모아 둔 레코드를 파일에 쓴다
+    public void flush() throws IOException {
+        batch.flip();
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+        batch.clear();
+    }
+
+    // 이 기록기가 쓴 레코드 수 (이어쓰기 전의 기존 레코드는 세지 않는다)
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package Chapter_01.composition.tobe;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * 프로모션 규칙 엔진
+ * <p>
+ * 규칙을 주문마다 if문으로 하나씩 검사하는 대신, 규칙 묶음을 한 번 "컴파일"해서
+ * 결정 표(decision table)로 만든다.
+ * <pre>
+ * table[시간대][베이스][옵션][개수] = 그 옵션을 그 개수만큼 담았을 때의 총 할인 금액
+ * </pre>
+ * 주문 평가는 옵션 개수 벡터를 한 번 훑으며 표를 더하기만 하므로 분기도, 객체 생성도 없다.
+ * 같은 옵션 단위에 여러 규칙이 겹치면 가장 큰 할인 하나만 적용한다. (중복 할인 없음)
+ * <p>
+ * 영업 중 규칙 교체(hot swap)는 새 표를 옆에서 만든 뒤 volatile 참조 하나만 바꾼다.
+ */
+public class PromotionEngine {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int COUNT_SLOTS = CompactCoffeeOrder.MAX_OPTION_COUNT + 1;
+
+    private volatile Table table;
+
+    public PromotionEngine(CoffeeCatalog catalog, List<PromotionRule> rules) {
+        this.table = compile(catalog, rules);
+    }
+
+    // 규칙 묶음 교체: 진행 중인 계산은 이전 표로, 이후 계산은 새 표로 처리된다
+    public void swap(CoffeeCatalog catalog, List<PromotionRule> rules) {
+        this.table = compile(catalog, rules);
+    }
+
+    public int discountOf(CompactCoffeeOrder order, LocalTime orderTime) {
+        Table current = table;
+        if (order.getCatalog() != current.catalog) {
+            throw new IllegalArgumentException("프로모션이 컴파일된 카탈로그와 주문의 카탈로그가 다릅니다");
+        }
+        int minute = orderTime.getHour() * 60 + orderTime.getMinute();
+        return current.discountOf(order.getBaseId(), order.getOptionCounts(), minute);
+    }
+
+    public int finalPriceOf(CompactCoffeeOrder order, LocalTime orderTime) {
+        return order.getTotalPrice() - discountOf(order, orderTime);
+    }
+
+    // === 컴파일 ===
+
+    private static Table compile(CoffeeCatalog catalog, List<PromotionRule> rules) {
+        Objects.requireNonNull(catalog, "catalog must not be null");
+        Objects.requireNonNull(rules, "rules must not be null");
+
+        // 1. 규칙 시간 경계로 하루를 구간으로 나눈다 (구간 안에서는 적용 규칙이 같음)
+        TreeSet<Integer> boundaries = new TreeSet<>();
+        boundaries.add(0);
+        for (PromotionRule rule : rules) {
+            boundaries.add(rule.fromMinute());
+            boundaries.add(rule.untilMinute());
+        }
+        boundaries.remove(MINUTES_PER_DAY);
+        Integer[] starts = boundaries.toArray(new Integer[0]);
+        if (starts.length > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("규칙 시간대가 너무 잘게 나뉘어 있습니다");
+        }
+
+        byte[] segmentOfMinute = new byte[MINUTES_PER_DAY];
+        for (int segment = 0; segment < starts.length; segment++) {
+            int end = segment + 1 < starts.length ? starts[segment + 1] : MINUTES_PER_DAY;
+            for (int minute = starts[segment]; minute < end; minute++) {
+                segmentOfMinute[minute] = (byte) segment;
+            }
+        }
+
+        // 2. 구간 × 베이스 × 옵션 × 개수 마다 총 할인 금액을 미리 계산
+        int bases = catalog.coffeeCount();
+        int options = catalog.optionCount();
+        int[] discounts = new int[starts.length * bases * options * COUNT_SLOTS];
+
+        for (int segment = 0; segment < starts.length; segment++) {
+            int minute = starts[segment];
+            for (int baseId = 0; baseId < bases; baseId++) {
+                Coffee base = catalog.getCoffee(baseId);
+                for (int optionId = 0; optionId < options; optionId++) {
+                    CoffeeOption option = catalog.getOption(optionId);
+                    int offset = ((segment * bases + baseId) * options + optionId) * COUNT_SLOTS;
+                    int cumulative = 0;
+                    for (int unit = 1; unit < COUNT_SLOTS; unit++) {
+                        cumulative += bestUnitDiscount(rules, base, option, unit, minute);
+                        discounts[offset + unit] = cumulative;
+                    }
+                }
+            }
+        }
+        return new Table(catalog, segmentOfMinute, bases, options, discounts);
+    }
+
+    // 옵션 "unit번째" 하나에 적용되는 가장 큰 할인 금액
+    private static int bestUnitDiscount(List<PromotionRule> rules, Coffee base, CoffeeOption option, int unit, int minute) {
+        int best = 0;
+        for (PromotionRule rule : rules) {
+            if (rule.getOptionType() == option.getClass()
+                    && rule.appliesTo(base)
+                    && rule.appliesToUnit(unit)
+                    && minute >= rule.fromMinute() && minute < rule.untilMinute()) {
+                best = Math.max(best, option.getAdditionalPrice() * rule.getDiscountPercent() / 100);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 컴파일된 결정 표 (불변)
+     */
+    private static final class Table {
+        private final CoffeeCatalog catalog;
+        private final byte[] segmentOfMinute;
+        private final int bases;
+        private final int options;
+        private final int[] discounts;
+
+        Table(CoffeeCatalog catalog, byte[] segmentOfMinute, int bases, int options, int[] discounts) {
+            this.catalog = catalog;
+            this.segmentOfMinute = segmentOfMinute;
+            this.bases = bases;
+            this.options = options;
+            this.discounts = discounts;
+        }
+
+        // 옵션 개수 벡터를 한 번 훑으면서 표 값만 더한다
+        int discountOf(int baseId, long optionCounts, int minuteOfDay) {
+            int offset = (segmentOfMinute[minuteOfDay] * bases + baseId) * options * COUNT_SLOTS;
+            int discount = 0;
+            for (long counts = optionCounts; counts != 0; counts >>>= CompactCoffeeOrder.BITS_PER_OPTION) {
+                discount += discounts[offset + ((int) counts & CompactCoffeeOrder.MAX_OPTION_COUNT)];
+                offset += COUNT_SLOTS;
+            }
+            return discount;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package Chapter_01.composition.tobe;
+
+import java.time.LocalTime;
+import java.util.List;
+
+public class PromotionMain {
+    public static void main(String[] args) {
+        CoffeeCatalog catalog = CoffeeCatalog.standard();
+        CoffeeOption extraShot = catalog.option(ExtraShot.class);
+        CoffeeOption oatMilk = catalog.option(OatMilk.class);
+
+        PromotionEngine engine = new PromotionEngine(catalog, List.of(
+                PromotionRule.freeOption(Latte.class, OatMilk.class).before(LocalTime.of(10, 0))
+                        .named("오전 10시 전 라떼 오트밀크 무료"),
+                PromotionRule.nthOptionDiscount(ExtraShot.class, 2, 50)
+                        .named("샷 추가 두 번째 반값")));
+
+        CompactCoffeeOrder latte = CompactCoffeeOrder.of(catalog, catalog.coffee(Latte.class))
+                .addOption(oatMilk)
+                .addOption(extraShot)
+                .addOption(extraShot);
+
+        System.out.println(latte.getDescription() + " 정가: " + latte.getTotalPrice());
+        System.out.println("09:30 주문: " + engine.finalPriceOf(latte, LocalTime.of(9, 30)));
+        System.out.println("14:00 주문: " + engine.finalPriceOf(latte, LocalTime.of(14, 0)));
+
+        // 영업 중 규칙 교체: 오후 해피아워 샷 무료
+        engine.swap(catalog, List.of(
+                PromotionRule.freeOption(null, ExtraShot.class).between(LocalTime.of(14, 0), LocalTime.of(16, 0))
+                        .named("해피아워 샷 무료")));
+        System.out.println("규칙 교체 후 14:00 주문: " + engine.finalPriceOf(latte, LocalTime.of(14, 0)));
+    }
+}
@@ -0,0 +1,105 @@
+package Chapter_01.composition.tobe;
+
+import java.time.LocalTime;
+import java.util.Objects;
+
+/**
+ * 프로모션 규칙 하나 (불변)
+ * <p>
+ * "어떤 베이스에서, 어떤 옵션의 몇 번째부터 몇 번째까지를, 몇 % 할인하는가, 언제"를 표현한다.
+ * 규칙 자체는 데이터일 뿐이고, 실제 계산은 PromotionEngine이 컴파일한 표로 한다.
+ * <pre>
+ * 라떼 주문 시 오전 10시 전 오트밀크 무료 → freeOption(Latte.class, OatMilk.class).before(10:00)
+ * 샷 추가 두 번째는 반값              → nthOptionDiscount(ExtraShot.class, 2, 50)
+ * </pre>
+ */
+public final class PromotionRule {
+
+    private final String name;
+    private final Class<? extends Coffee> baseType;          // null이면 모든 베이스
+    private final Class<? extends CoffeeOption> optionType;
+    private final int fromUnit;                                // 1부터 시작, 포함
+    private final int toUnit;                                  // 포함
+    private final int discountPercent;
+    private final LocalTime from;                              // 포함
+    private final LocalTime until;                             // 미포함
+
+    private PromotionRule(String name, Class<? extends Coffee> baseType, Class<? extends CoffeeOption> optionType,
+                          int fromUnit, int toUnit, int discountPercent, LocalTime from, LocalTime until) {
+        this.name = Objects.requireNonNull(name, "name must not be null");
+        this.baseType = baseType;
+        this.optionType = Objects.requireNonNull(optionType, "optionType must not be null");
+        if (fromUnit < 1 || toUnit < fromUnit) {
+            throw new IllegalArgumentException("할인 적용 구간이 올바르지 않습니다: " + fromUnit + " ~ " + toUnit);
+        }
+        if (discountPercent < 0 || discountPercent > 100) {
+            throw new IllegalArgumentException("할인율은 0 ~ 100 사이여야 합니다: " + discountPercent);
+        }
+        if (!from.isBefore(until) && !until.equals(LocalTime.MIDNIGHT)) {
+            throw new IllegalArgumentException("적용 시간대가 올바르지 않습니다: " + from + " ~ " + until);
+        }
+        this.fromUnit = fromUnit;
+        this.toUnit = toUnit;
+        this.discountPercent = discountPercent;
+        this.from = from;
+        this.until = until;
+    }
+
+    // 해당 베이스와 함께 주문하면 옵션 무료 (개수 제한 없음)
+    public static PromotionRule freeOption(Class<? extends Coffee> baseType, Class<? extends CoffeeOption> optionType) {
+        return new PromotionRule(optionType.getSimpleName() + " 무료", baseType, optionType,
+                1, CompactCoffeeOrder.MAX_OPTION_COUNT, 100, LocalTime.MIDNIGHT, LocalTime.MIDNIGHT);
+    }
+
+    // 모든 베이스에서 n번째 옵션 할인
+    public static PromotionRule nthOptionDiscount(Class<? extends CoffeeOption> optionType, int nth, int discountPercent) {
+        return new PromotionRule(nth + "번째 " + optionType.getSimpleName() + " " + discountPercent + "% 할인", null,
+                optionType, nth, nth, discountPercent, LocalTime.MIDNIGHT, LocalTime.MIDNIGHT);
+    }
+
+    // 적용 시간대를 [from, until)로 제한한 새 규칙
+    public PromotionRule between(LocalTime from, LocalTime until) {
+        return new PromotionRule(name, baseType, optionType, fromUnit, toUnit, discountPercent,
+                Objects.requireNonNull(from, "from must not be null"),
+                Objects.requireNonNull(until, "until must not be null"));
+    }
+
+    public PromotionRule before(LocalTime until) {
+        return between(LocalTime.MIDNIGHT, until);
+    }
+
+    public PromotionRule named(String name) {
+        return new PromotionRule(name, baseType, optionType, fromUnit, toUnit, discountPercent, from, until);
+    }
+
+    // === PromotionEngine 컴파일용 ===
+
+    boolean appliesTo(Coffee base) {
+        return baseType == null || baseType == base.getClass();
+    }
+
+    boolean appliesToUnit(int unit) {
+        return unit >= fromUnit && unit <= toUnit;
+    }
+
+    // 하루 중 분 단위 [fromMinute, untilMinute)
+    int fromMinute() {
+        return from.getHour() * 60 + from.getMinute();
+    }
+
+    int untilMinute() {
+        return until.equals(LocalTime.MIDNIGHT) ? 24 * 60 : until.getHour() * 60 + until.getMinute();
+    }
+
+    Class<? extends CoffeeOption> getOptionType() {
+        return optionType;
+    }
+
+    int getDiscountPercent() {
+        return discountPercent;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,78 @@
+package Chapter_01.composition.tobe;
+
+/**
+ * 대량 가격 계산 결과: 베이스별/옵션별 판매 수량과 매출
+ * <p>
+ * 배열 인덱스는 CoffeeCatalog의 ID와 같다.
+ */
+public final class RevenueReport {
+
+    private final long[] unitsByBase;
+    private final long[] revenueByBase;
+    private final long[] unitsByOption;
+    private final long[] revenueByOption;
+
+    RevenueReport(int coffeeCount, int optionCount) {
+        this.unitsByBase = new long[coffeeCount];
+        this.revenueByBase = new long[coffeeCount];
+        this.unitsByOption = new long[optionCount];
+        this.revenueByOption = new long[optionCount];
+    }
+
+    // fork/join 하위 작업의 결과를 합친다
+    RevenueReport merge(RevenueReport other) {
+        for (int i = 0; i < unitsByBase.length; i++) {
+            unitsByBase[i] += other.unitsByBase[i];
+            revenueByBase[i] += other.revenueByBase[i];
+        }
+        for (int i = 0; i < unitsByOption.length; i++) {
+            unitsByOption[i] += other.unitsByOption[i];
+            revenueByOption[i] += other.revenueByOption[i];
+        }
+        return this;
+    }
+
+    void addBase(int baseId, long orderTotal) {
+        unitsByBase[baseId]++;
+        revenueByBase[baseId] += orderTotal;
+    }
+
+    void addOption(int optionId, int count, long optionRevenue) {
+        unitsByOption[optionId] += count;
+        revenueByOption[optionId] += optionRevenue;
+    }
+
+    // 베이스별 매출: 해당 베이스로 시작한 주문의 총액(옵션 포함)
+    public long revenueByBase(int baseId) {
+        return revenueByBase[baseId];
+    }
+
+    public long unitsByBase(int baseId) {
+        return unitsByBase[baseId];
+    }
+
+    // 옵션별 매출: 그 옵션의 추가 금액만 합친 값
+    public long revenueByOption(int optionId) {
+        return revenueByOption[optionId];
+    }
+
+    public long unitsByOption(int optionId) {
+        return unitsByOption[optionId];
+    }
+
+    public long totalRevenue() {
+        long total = 0;
+        for (long revenue : revenueByBase) {
+            total += revenue;
+        }
+        return total;
+    }
+
+    public long totalOrders() {
+        long total = 0;
+        for (long units : unitsByBase) {
+            total += units;
+        }
+        return total;
+    }
+}
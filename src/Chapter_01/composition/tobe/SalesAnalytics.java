@@ -0,0 +1,325 @@
+package Chapter_01.composition.tobe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 실시간 판매 분석기
+ * <p>
+ * 끝없이 들어오는 완료 주문을 받아서 다음 지표를 고정된 메모리 안에서 갱신한다.
+ * - 분당 매출: 1분 텀블링 윈도우를 링 버퍼에 보관 (최근 historyMinutes 분)
+ * - 옵션 부착률/매출 합계: 최근 slidingMinutes 분 슬라이딩 윈도우 (링 버퍼 칸들을 합산)
+ * - 인기 조합 Top N: Space-Saving 알고리즘 (카운터 capacity개로 근사)
+ *   다른 지표와 같이 최근 판매를 보도록, 카운트에 시간 감쇠를 건다. (slidingMinutes마다 가중치 절반)
+ *   감쇠는 forward decay 방식이라 주문마다 모든 카운터를 고치지 않는다: 새 주문일수록 큰 가중치로 더하고
+ *   조회할 때 현재 가중치로 나눈다. 조합은 해시 테이블로 찾고, 가장 작은 카운터는 최소 힙으로 찾는다.
+ * <p>
+ * 기록은 여러 POS 스레드에서 동시에 들어올 수 있으므로 짧은 임계 영역(synchronized)으로 보호한다.
+ * 기록 한 번은 배열 몇 칸을 더하는 것뿐이라 락 보유 시간이 매우 짧고, 객체를 만들지 않는다.
+ * 스냅샷은 같은 락 안에서 배열만 복사하고, 문자열 조립은 락 밖에서 한다.
+ */
+public class SalesAnalytics {
+
+    private final CoffeeCatalog catalog;
+    private final int historyMinutes;
+    private final int slidingMinutes;
+
+    // 1분 버킷 링 버퍼: 칸 번호 = epochMinute % historyMinutes
+    private final long[] bucketMinute;
+    private final long[] bucketOrders;
+    private final long[] bucketRevenue;
+    private final long[] bucketOptionOrders;   // [칸 × 옵션 수 + 옵션 ID]
+    private long latestMinute = Long.MIN_VALUE;
+
+    // 이 값을 넘으면 가중치 기준점을 옮겨서 카운터를 다시 정규화한다 (double 넘침 방지)
+    private static final double RENORMALIZE_ABOVE = 1e100;
+
+    // Space-Saving 카운터 (조합 = 베이스 ID + 옵션 개수 벡터), 값은 가중치 기준점 시각의 배율
+    private final int[] comboBase;
+    private final long[] comboOptions;
+    private final double[] comboCount;
+    private final double[] comboError;
+    private int comboSize;
+    // 카운터 찾기: 선형 탐사 해시 테이블 (값 = 카운터 번호 + 1, 0이면 빈칸)
+    private final int[] comboTable;
+    // 가장 작은 카운터 찾기: 카운터 번호의 최소 힙
+    private final int[] heap;
+    private final int[] heapIndex;
+    // forward decay: 주문 가중치 = 2^((분 - decayOrigin) / slidingMinutes)
+    private long decayOrigin = Long.MIN_VALUE;
+    public SalesAnalytics(CoffeeCatalog catalog, int historyMinutes, int slidingMinutes, int topCapacity) {
+        this.catalog = Objects.requireNonNull(catalog, "catalog must not be null");
+        if (historyMinutes <= 0 || slidingMinutes <= 0 || slidingMinutes > historyMinutes) {
+            throw new IllegalArgumentException("윈도우 크기가 올바르지 않습니다");
+        }
+        if (topCapacity <= 0 || topCapacity > 1 << 24) {
+            throw new IllegalArgumentException("topCapacity는 1 ~ " + (1 << 24) + " 사이여야 합니다: " + topCapacity);
+        }
+        this.historyMinutes = historyMinutes;
+        this.slidingMinutes = slidingMinutes;
+        this.bucketMinute = new long[historyMinutes];
+        this.bucketOrders = new long[historyMinutes];
+        this.bucketRevenue = new long[historyMinutes];
+        this.bucketOptionOrders = new long[historyMinutes * catalog.optionCount()];
+        Arrays.fill(bucketMinute, Long.MIN_VALUE);
+
+        this.comboBase = new int[topCapacity];
+        this.comboOptions = new long[topCapacity];
+        this.comboCount = new double[topCapacity];
+        this.comboError = new double[topCapacity];
+        this.comboTable = new int[Integer.highestOneBit(topCapacity) << 2]; // 적재율 50% 이하
+        this.heap = new int[topCapacity];
+        this.heapIndex = new int[topCapacity];
+    }
+
+    public void record(CoffeeOrder order, long epochMillis) {
+        record(order.toCompact(catalog), epochMillis);
+    }
+
+    public void record(CompactCoffeeOrder order, long epochMillis) {
+        if (order.getCatalog() != catalog) {
+            throw new IllegalArgumentException("분석기와 다른 카탈로그의 주문입니다");
+        }
+        // 가격 계산은 락 밖에서
+        recordCompact(order.getBaseId(), order.getOptionCounts(), order.getTotalPrice(), epochMillis / 60_000);
+    }
+
+    private synchronized void recordCompact(int baseId, long optionCounts, int price, long minute) {
+        if (minute + historyMinutes <= latestMinute) {
+            // 보관 기간보다 오래된 지연 주문은 버린다 (Top N에는 감쇠된 가중치로 반영)
+            countCombo(baseId, optionCounts, minute);
+            return;
+        }
+        latestMinute = Math.max(latestMinute, minute);
+
+        int slot = (int) Math.floorMod(minute, (long) historyMinutes);
+        if (bucketMinute[slot] != minute) {
+            // 한 바퀴 돌아온 칸: 이전 분의 값을 지우고 재사용 (텀블링)
+            bucketMinute[slot] = minute;
+            bucketOrders[slot] = 0;
+            bucketRevenue[slot] = 0;
+            Arrays.fill(bucketOptionOrders, slot * catalog.optionCount(), (slot + 1) * catalog.optionCount(), 0);
+        }
+        bucketOrders[slot]++;
+        bucketRevenue[slot] += price;
+        int optionBase = slot * catalog.optionCount();
+        for (int optionId = 0; optionId < catalog.optionCount(); optionId++) {
+            if (countOf(optionCounts, optionId) > 0) {
+                bucketOptionOrders[optionBase + optionId]++;
+            }
+        }
+
+        countCombo(baseId, optionCounts, minute);
+    }
+
+    private static int countOf(long optionCounts, int optionId) {
+        return (int) (optionCounts >>> (optionId * CompactCoffeeOrder.BITS_PER_OPTION)) & CompactCoffeeOrder.MAX_OPTION_COUNT;
+    }
+
+    // Space-Saving: 있으면 더하고, 자리가 있으면 추가, 없으면 가장 작은 카운터를 빼앗는다. O(log capacity)
+    private void countCombo(int baseId, long optionCounts, long minute) {
+        double weight = weightOf(minute);
+        int counter = findCombo(baseId, optionCounts);
+        if (counter >= 0) {
+            comboCount[counter] += weight;
+            siftDown(heapIndex[counter]);
+            return;
+        }
+        if (comboSize < comboCount.length) {
+            counter = comboSize++;
+            comboBase[counter] = baseId;
+            comboOptions[counter] = optionCounts;
+            comboCount[counter] = weight;
+            comboError[counter] = 0;
+            heap[counter] = counter;
+            heapIndex[counter] = counter;
+            siftUp(counter);
+            insertCombo(counter);
+            return;
+        }
+        counter = heap[0];
+        removeCombo(counter);
+        comboBase[counter] = baseId;
+        comboOptions[counter] = optionCounts;
+        comboError[counter] = comboCount[counter];
+        comboCount[counter] += weight;
+        insertCombo(counter);
+        siftDown(0);
+    }
+
+    private double weightOf(long minute) {
+        if (decayOrigin == Long.MIN_VALUE) {
+            decayOrigin = minute;
+        }
+        double weight = Math.pow(2, (double) (minute - decayOrigin) / slidingMinutes);
+        if (weight > RENORMALIZE_ABOVE) {
+            // 기준점을 이번 분으로 옮기고 기존 카운터를 같은 비율로 줄인다 (힙 순서는 그대로)
+            for (int i = 0; i < comboSize; i++) {
+                comboCount[i] /= weight;
+                comboError[i] /= weight;
+            }
+            decayOrigin = minute;
+            weight = 1;
+        }
+        return weight;
+    }
+
+    // === 조합 해시 테이블 ===
+
+    private int slotOf(int baseId, long optionCounts) {
+        long hash = (optionCounts * 31 + baseId) * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & (comboTable.length - 1);
+    }
+
+    private int findCombo(int baseId, long optionCounts) {
+        int mask = comboTable.length - 1;
+        for (int slot = slotOf(baseId, optionCounts); comboTable[slot] != 0; slot = (slot + 1) & mask) {
+            int counter = comboTable[slot] - 1;
+            if (comboBase[counter] == baseId && comboOptions[counter] == optionCounts) {
+                return counter;
+            }
+        }
+        return -1;
+    }
+
+    private void insertCombo(int counter) {
+        int mask = comboTable.length - 1;
+        int slot = slotOf(comboBase[counter], comboOptions[counter]);
+        while (comboTable[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        comboTable[slot] = counter + 1;
+    }
+
+    // 선형 탐사 삭제: 빈칸을 만든 뒤, 뒤따르는 항목 중 제자리로 갈 수 있는 것을 당겨 온다
+    private void removeCombo(int counter) {
+        int mask = comboTable.length - 1;
+        int slot = slotOf(comboBase[counter], comboOptions[counter]);
+        while (comboTable[slot] != counter + 1) {
+            slot = (slot + 1) & mask;
+        }
+        int hole = slot;
+        comboTable[hole] = 0;
+        for (int next = (hole + 1) & mask; comboTable[next] != 0; next = (next + 1) & mask) {
+            int moving = comboTable[next] - 1;
+            int home = slotOf(comboBase[moving], comboOptions[moving]);
+            // home이 (hole, next] 구간 밖이면 hole로 옮겨도 찾을 수 있다
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                comboTable[hole] = comboTable[next];
+                comboTable[next] = 0;
+                hole = next;
+            }
+        }
+    }
+
+    // === 최소 힙 (카운터 값 기준) ===
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (comboCount[heap[parent]] <= comboCount[heap[index]]) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < comboSize && comboCount[heap[left]] < comboCount[heap[smallest]]) {
+                smallest = left;
+            }
+            if (right < comboSize && comboCount[heap[right]] < comboCount[heap[smallest]]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        int a = heap[i];
+        int b = heap[j];
+        heap[i] = b;
+        heap[j] = a;
+        heapIndex[b] = i;
+        heapIndex[a] = j;
+    }
+
+    /**
+     * @param topN 인기 조합을 몇 개까지 담을지 (0 이상)
+     */
+    public SalesSnapshot snapshot(int topN) {
+        if (topN < 0) {
+            throw new IllegalArgumentException("topN은 0 이상이어야 합니다: " + topN);
+        }
+        int optionCount = catalog.optionCount();
+        long[] revenuePerMinute = new long[historyMinutes];
+        long[] slidingOptionOrders = new long[optionCount];
+        long slidingOrders = 0;
+        long slidingRevenue = 0;
+        long firstMinute;
+        int[] bases;
+        long[] options;
+        double[] counts;
+        double[] errors;
+
+        synchronized (this) {
+            long last = latestMinute == Long.MIN_VALUE ? 0 : latestMinute;
+            firstMinute = last - historyMinutes + 1;
+            for (int i = 0; i < historyMinutes; i++) {
+                long minute = firstMinute + i;
+                int slot = (int) Math.floorMod(minute, (long) historyMinutes);
+                if (bucketMinute[slot] != minute) {
+                    continue; // 주문이 없던 분
+                }
+                revenuePerMinute[i] = bucketRevenue[slot];
+                if (minute > last - slidingMinutes) {
+                    slidingOrders += bucketOrders[slot];
+                    slidingRevenue += bucketRevenue[slot];
+                    for (int optionId = 0; optionId < optionCount; optionId++) {
+                        slidingOptionOrders[optionId] += bucketOptionOrders[slot * optionCount + optionId];
+                    }
+                }
+            }
+            bases = Arrays.copyOf(comboBase, comboSize);
+            options = Arrays.copyOf(comboOptions, comboSize);
+            counts = Arrays.copyOf(comboCount, comboSize);
+            errors = Arrays.copyOf(comboError, comboSize);
+            // 가장 최근 분의 가중치로 나눠서 "최근 주문 1건 = 1" 단위로 바꾼다
+            double scale = decayOrigin == Long.MIN_VALUE ? 1
+                    : Math.pow(2, (double) (last - decayOrigin) / slidingMinutes);
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] /= scale;
+                errors[i] /= scale;
+            }
+        }
+
+        double[] attachRates = new double[optionCount];
+        for (int optionId = 0; optionId < optionCount; optionId++) {
+            attachRates[optionId] = slidingOrders == 0 ? 0.0 : (double) slidingOptionOrders[optionId] / slidingOrders;
+        }
+
+        List<SalesSnapshot.ComboCount> top = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            String description = CompactCoffeeOrder.of(catalog, bases[i], options[i]).getDescription();
+            top.add(new SalesSnapshot.ComboCount(description, counts[i], errors[i]));
+        }
+        top.sort((a, b) -> Double.compare(b.getEstimatedCount(), a.getEstimatedCount()));
+        if (top.size() > topN) {
+            top = new ArrayList<>(top.subList(0, topN));
+        }
+
+        return new SalesSnapshot(firstMinute, revenuePerMinute, slidingOrders, slidingRevenue,
+                attachRates, List.copyOf(top));
+    }
+}
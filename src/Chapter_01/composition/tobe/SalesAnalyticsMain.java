@@ -0,0 +1,51 @@
+package Chapter_01.composition.tobe;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 여러 POS 스레드가 동시에 주문을 흘려보내고, 대시보드가 스냅샷을 읽는 데모
+ */
+public class SalesAnalyticsMain {
+
+    private static final int PRODUCERS = 4;
+    private static final int ORDERS_PER_PRODUCER = 250_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        CoffeeCatalog catalog = CoffeeCatalog.standard();
+        SalesAnalytics analytics = new SalesAnalytics(catalog, 60, 15, 32);
+        long startMillis = 0L;
+
+        ExecutorService pos = Executors.newFixedThreadPool(PRODUCERS);
+        for (int p = 0; p < PRODUCERS; p++) {
+            int seed = p;
+            pos.submit(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                for (int i = 0; i < ORDERS_PER_PRODUCER; i++) {
+                    CompactCoffeeOrder order = CompactCoffeeOrder.of(catalog, random.nextInt(catalog.coffeeCount()), 0L);
+                    if (random.nextInt(10) < 3) order = order.addOption(catalog.getOption(0));
+                    if (random.nextInt(10) < 1) order = order.addOption(catalog.getOption(1));
+                    if (random.nextInt(10) < 2) order = order.addOption(catalog.getOption(2));
+                    // 주문 100건마다 1초씩 흐른다고 가정 → 약 40분 분량
+                    analytics.record(order, startMillis + i * 10L);
+                }
+            });
+        }
+        pos.shutdown();
+        pos.awaitTermination(1, TimeUnit.MINUTES);
+
+        SalesSnapshot snapshot = analytics.snapshot(5);
+        long[] revenue = snapshot.getRevenuePerMinute();
+        System.out.println("최근 분 매출: " + revenue[revenue.length - 1] + "원");
+        System.out.println("최근 15분 주문: " + snapshot.getSlidingOrders() + "건 / " + snapshot.getSlidingRevenue() + "원");
+        for (int id = 0; id < catalog.optionCount(); id++) {
+            System.out.printf("  %s 부착률: %.1f%%%n", catalog.getOption(id).getOptionDescription(), snapshot.attachRateOf(id) * 100);
+        }
+        System.out.println("인기 조합 Top 5:");
+        for (SalesSnapshot.ComboCount combo : snapshot.getTopCombos()) {
+            System.out.println("  " + combo);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package Chapter_01.composition.tobe;
+
+import java.util.List;
+
+/**
+ * 대시보드용 판매 지표 스냅샷 (불변)
+ * SalesAnalytics.snapshot()이 만든 시점의 값이며, 이후 주문은 반영되지 않는다.
+ */
+public final class SalesSnapshot {
+
+    private final long firstMinute;
+    private final long[] revenuePerMinute;
+    private final long slidingOrders;
+    private final long slidingRevenue;
+    private final double[] attachRates;
+    private final List<ComboCount> topCombos;
+
+    SalesSnapshot(long firstMinute, long[] revenuePerMinute, long slidingOrders, long slidingRevenue,
+                  double[] attachRates, List<ComboCount> topCombos) {
+        this.firstMinute = firstMinute;
+        this.revenuePerMinute = revenuePerMinute;
+        this.slidingOrders = slidingOrders;
+        this.slidingRevenue = slidingRevenue;
+        this.attachRates = attachRates;
+        this.topCombos = topCombos;
+    }
+
+    // revenuePerMinute[0]이 가리키는 분 (epoch minute)
+    public long getFirstMinute() {
+        return firstMinute;
+    }
+
+    // 텀블링 윈도우: 1분 단위 매출, 오래된 분 → 최근 분 순서
+    public long[] getRevenuePerMinute() {
+        return revenuePerMinute.clone();
+    }
+
+    // 슬라이딩 윈도우: 최근 N분 동안의 주문 수와 매출
+    public long getSlidingOrders() {
+        return slidingOrders;
+    }
+
+    public long getSlidingRevenue() {
+        return slidingRevenue;
+    }
+
+    // 슬라이딩 윈도우 안에서 해당 옵션이 포함된 주문의 비율 (0.0 ~ 1.0)
+    public double attachRateOf(int optionId) {
+        return attachRates[optionId];
+    }
+
+    // 많이 팔린 조합 순 (근사값)
+    public List<ComboCount> getTopCombos() {
+        return topCombos;
+    }
+
+    /**
+     * 조합별 최근 판매 수 (Space-Saving 근사치, 시간 감쇠)
+     * 가장 최근 분의 주문 1건을 1로 세고, slidingMinutes만큼 오래된 주문은 절반으로 센다.
+     * 실제 값은 estimatedCount - maxError 이상, estimatedCount 이하다.
+     */
+    public static final class ComboCount {
+        private final String description;
+        private final double estimatedCount;
+        private final double maxError;
+
+        ComboCount(String description, double estimatedCount, double maxError) {
+            this.description = description;
+            this.estimatedCount = estimatedCount;
+            this.maxError = maxError;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public double getEstimatedCount() {
+            return estimatedCount;
+        }
+
+        public double getMaxError() {
+            return maxError;
+        }
+
+        @Override
+        public String toString() {
+            return description + String.format(" x%.1f", estimatedCount)
+                    + (maxError >= 0.05 ? String.format(" (±%.1f)", maxError) : "");
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package Chapter_01.composition.tobe;
+
+import Chapter_01.composition.MicroBenchmark;
+
+/**
+ * 구성 모델(CoffeeOrder + CoffeeOption) 벤치마크
+ * 옵션 수를 늘려 가며 캐시된 주문, 플라이웨이트 압축 주문, 컴파일된 가격표를 비교한다.
+ * CoffeeOrder의 getTotalPrice/getDescription은 캐시된 값을 돌려줄 뿐이라 CoffeeOption 호출이 일어나지 않는다.
+ * 그래서 단형/다형 비교는 캐시를 거치지 않는 computeTotalPrice/buildDescription으로 잰다.
+ */
+public final class ToBeBenchmarks {
+
+    private static final int[] OPTION_COUNTS = {0, 1, 2, 4, 8};
+    // 같은 구성의 주문을 몇 개씩 만들어 번갈아 호출할지 (수신 객체가 상수로 접히지 않게)
+    private static final int RECEIVERS = 4;
+
+    private ToBeBenchmarks() {
+    }
+
+    public static void register(MicroBenchmark.Cases cases) {
+        CoffeeCatalog catalog = CoffeeCatalog.standard();
+        Coffee americano = catalog.coffee(Americano.class);
+        CoffeeOption extraShot = catalog.option(ExtraShot.class);
+        CoffeeOption[] mixedOptions = {extraShot, catalog.option(VanillaSyrup.class), catalog.option(OatMilk.class)};
+        MenuPriceTable priceTable = new MenuPriceTable(catalog, 3);
+
+        for (int optionCount : OPTION_COUNTS) {
+            // 단형: 같은 옵션 타입만 / 다형: 세 가지 옵션 타입이 섞임
+            CoffeeOrder[] mono = new CoffeeOrder[RECEIVERS];
+            CoffeeOrder[] mixed = new CoffeeOrder[RECEIVERS];
+            CompactCoffeeOrder[] compact = new CompactCoffeeOrder[RECEIVERS];
+            for (int r = 0; r < RECEIVERS; r++) {
+                mono[r] = new CoffeeOrder(americano);
+                mixed[r] = new CoffeeOrder(americano);
+                compact[r] = CompactCoffeeOrder.of(catalog, americano);
+                for (int i = 0; i < optionCount; i++) {
+                    mono[r].addOption(extraShot);
+                    mixed[r].addOption(mixedOptions[i % mixedOptions.length]);
+                    compact[r] = compact[r].addOption(mixedOptions[i % mixedOptions.length]);
+                }
+            }
+
+            cases.add("tobe 옵션 합산 getPrice 단형 옵션" + optionCount, ops -> {
+                long sum = 0;
+                for (int i = 0; i < ops; i++) {
+                    sum += mono[i % RECEIVERS].computeTotalPrice();
+                }
+                return sum;
+            });
+            cases.add("tobe 옵션 합산 getPrice 다형 옵션" + optionCount, ops -> {
+                long sum = 0;
+                for (int i = 0; i < ops; i++) {
+                    sum += mixed[i % RECEIVERS].computeTotalPrice();
+                }
+                return sum;
+            });
+            cases.add("tobe 설명 생성 다형 옵션" + optionCount, ops -> {
+                long sum = 0;
+                for (int i = 0; i < ops; i++) {
+                    sum += mixed[i % RECEIVERS].buildDescription().length();
+                }
+                return sum;
+            });
+            cases.add("tobe 캐시 주문 getPrice 옵션" + optionCount, ops -> {
+                long sum = 0;
+                for (int i = 0; i < ops; i++) {
+                    sum += mixed[i % RECEIVERS].getTotalPrice();
+                }
+                return sum;
+            });
+            cases.add("tobe 압축 주문 getPrice 옵션" + optionCount, ops -> {
+                long sum = 0;
+                for (int i = 0; i < ops; i++) {
+                    sum += compact[i % RECEIVERS].getTotalPrice();
+                }
+                return sum;
+            });
+            cases.add("tobe 압축 주문 getDescription 옵션" + optionCount, ops -> {
+                long sum = 0;
+                for (int i = 0; i < ops; i++) {
+                    sum += compact[i % RECEIVERS].getDescription().length();
+                }
+                return sum;
+            });
+            cases.add("tobe 가격표 조회 옵션" + optionCount, ops -> {
+                long sum = 0;
+                for (int i = 0; i < ops; i++) {
+                    sum += priceTable.priceOf(compact[i % RECEIVERS]);
+                }
+                return sum;
+            });
+            // 만든 주문을 배열에 남겨 탈출시킨다 (그대로 버리면 탈출 분석이 할당을 지운다)
+            CoffeeOrder[] created = new CoffeeOrder[MicroBenchmark.ESCAPE_SLOTS];
+            cases.add("tobe 주문 생성 + getPrice 다형 옵션" + optionCount, ops -> {
+                long sum = 0;
+                for (int i = 0; i < ops; i++) {
+                    CoffeeOrder order = new CoffeeOrder(americano);
+                    for (int k = 0; k < optionCount; k++) {
+                        order.addOption(mixedOptions[k % mixedOptions.length]);
+                    }
+                    created[i & (created.length - 1)] = order;
+                    sum += order.getTotalPrice();
+                }
+                return sum;
+            });
+        }
+    }
+}
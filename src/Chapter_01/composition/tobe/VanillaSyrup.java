@@ -0,0 +1,6 @@
+package Chapter_01.composition.tobe;
+
+class VanillaSyrup implements CoffeeOption {
+    public String getOptionDescription() { return "바닐라 시럽"; }
+    public int getAdditionalPrice() { return 500; }
+}
@@ -3,34 +3,131 @@ package Chapter_01.strategy.tobe;
 import Chapter_01.strategy.PaymentException;
 import Chapter_01.strategy.PaymentType;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 public class PaymentStrategyRegistry {
 
-    private final Map<PaymentType, PaymentStrategy> strategies = new HashMap<>();
+    private final Map<PaymentType, StrategyHolder> strategies = new ConcurrentHashMap<>();
 
-    // 전략 등록
+    // 전략 등록 (이미 만들어진 전략 객체를 바로 등록)
     public void register(PaymentStrategy strategy) {
         if (strategy == null) {
             throw new PaymentException("전략은 null일 수 없습니다");
         }
 
-        PaymentType paymentType = strategy.getPaymentType();
-        if (strategies.containsKey(paymentType)) {
-            throw new PaymentException("이미 등록된 결제 전략입니다: " + paymentType);
+        putHolder(strategy.getPaymentType(), new StrategyHolder(strategy));
+    }
+
+    /**
+     * 지연 등록: 전략을 "만드는 방법"만 등록해 둔다.
+     * 실제 API 클라이언트 생성(TLS 로딩, 커넥션 풀 워밍 등)은
+     * 처음 getStrategy()가 호출되거나 warmUpAsync()가 돌 때까지 미뤄진다.
+     */
+    public void register(PaymentType paymentType, Supplier<? extends PaymentStrategy> supplier) {
+        if (paymentType == null || supplier == null) {
+            throw new PaymentException("결제 수단과 전략 공급자는 null일 수 없습니다");
         }
 
-        strategies.put(paymentType, strategy);
+        putHolder(paymentType, new StrategyHolder(paymentType, supplier));
+    }
+
+    private void putHolder(PaymentType paymentType, StrategyHolder holder) {
+        if (strategies.putIfAbsent(paymentType, holder) != null) {
+            throw new PaymentException("이미 등록된 결제 전략입니다: " + paymentType);
+        }
     }
 
-    // 전략 조회
+    // 전략 조회 (지연 등록된 전략이면 이 시점에 한 번만 생성된다)
     public PaymentStrategy getStrategy(PaymentType paymentType) {
-        PaymentStrategy strategy = strategies.get(paymentType);
-        if (strategy == null) {
+        StrategyHolder holder = strategies.get(paymentType);
+        if (holder == null) {
             throw new PaymentException("지원하지 않는 결제 수단입니다: " + paymentType);
         }
-        return strategy;
+        return holder.get();
+    }
+
+    /**
+     * 아직 생성되지 않은 전략들을 백그라운드에서 병렬로 미리 만들어 둔다.
+     * 반환된 future가 끝나면 모든 전략이 준비된 상태다.
+     */
+    public CompletableFuture<Void> warmUpAsync(Executor executor) {
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (StrategyHolder holder : strategies.values()) {
+            if (!holder.isReady()) {
+                futures.add(CompletableFuture.runAsync(holder::get, executor));
+            }
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+    }
+
+    // 결제 수단별 준비 상태 (true: 전략 객체가 생성되어 바로 사용 가능)
+    public boolean isReady(PaymentType paymentType) {
+        StrategyHolder holder = strategies.get(paymentType);
+        return holder != null && holder.isReady();
+    }
+
+    public Map<PaymentType, Boolean> readiness() {
+        Map<PaymentType, Boolean> result = new EnumMap<>(PaymentType.class);
+        strategies.forEach((type, holder) -> result.put(type, holder.isReady()));
+        return result;
+    }
+
+    /**
+     * 전략 하나를 감싸는 지연 초기화 홀더
+     * Chapter_05의 Double-Check Locking과 같은 방식으로 딱 한 번만 생성한다.
+     */
+    private static final class StrategyHolder {
+        private final PaymentType paymentType;
+        private Supplier<? extends PaymentStrategy> supplier;
+        private volatile PaymentStrategy instance;
+
+        StrategyHolder(PaymentStrategy strategy) {
+            this.paymentType = strategy.getPaymentType();
+            this.instance = strategy;
+        }
+
+        StrategyHolder(PaymentType paymentType, Supplier<? extends PaymentStrategy> supplier) {
+            this.paymentType = paymentType;
+            this.supplier = supplier;
+        }
+
+        boolean isReady() {
+            return instance != null;
+        }
+
+        PaymentStrategy get() {
+            PaymentStrategy result = instance;
+            if (result == null) { // 1차 체크는 락 없이.
+                synchronized (this) {
+                    result = instance;
+                    if (result == null) { // 2차 체크는 락 안에서.
+                        result = create();
+                        instance = result;
+                        supplier = null; // 생성이 끝난 공급자는 더 이상 필요 없음
+                    }
+                }
+            }
+            return result;
+        }
+
+        private PaymentStrategy create() {
+            PaymentStrategy strategy = supplier.get();
+            if (strategy == null) {
+                throw new PaymentException("전략 공급자가 null을 반환했습니다: " + paymentType);
+            }
+            if (strategy.getPaymentType() != paymentType) {
+                throw new PaymentException("등록된 결제 수단과 전략의 결제 수단이 다릅니다: "
+                        + paymentType + " != " + strategy.getPaymentType());
+            }
+            return strategy;
+        }
     }
 
 }
@@ -0,0 +1,76 @@
+package Chapter_01.strategy.tobe;
+
+import Chapter_01.strategy.PaymentType;
+import Chapter_01.strategy.bank.BankApiClient;
+import Chapter_01.strategy.card.CardApiClient;
+import Chapter_01.strategy.kakao.KakaoPayApiClient;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * 즉시 등록 vs 지연 등록 기동 시간 비교
+ * <p>
+ * 실제 PG 클라이언트는 TLS 인증서 로딩, 커넥션 풀 워밍, 설정 조회 때문에 생성이 느리다.
+ * 여기서는 클라이언트 하나를 만드는 데 INIT_MILLIS 만큼 걸린다고 가정한다.
+ */
+public class StartupBenchmarkMain {
+
+    private static final long INIT_MILLIS = 300;
+
+    public static void main(String[] args) throws Exception {
+        // 1. 즉시 등록: 모든 전략을 만든 뒤에야 트래픽을 받을 수 있다
+        long start = System.nanoTime();
+        PaymentStrategyRegistry eager = new PaymentStrategyRegistry();
+        eager.register(slow(() -> new CardPaymentStrategy(new CardApiClient())).get());
+        eager.register(slow(() -> new BankTransferStrategy(new BankApiClient())).get());
+        eager.register(slow(() -> new KakaoPayStrategy(new KakaoPayApiClient())).get());
+        System.out.println("[즉시 등록] 기동 시간: " + elapsedMillis(start) + "ms, 준비 상태: " + eager.readiness());
+
+        // 2. 지연 등록: 등록은 즉시 끝나고, 첫 사용 시점에 해당 전략만 만들어진다
+        start = System.nanoTime();
+        PaymentStrategyRegistry lazy = newLazyRegistry();
+        System.out.println("[지연 등록] 기동 시간: " + elapsedMillis(start) + "ms, 준비 상태: " + lazy.readiness());
+
+        start = System.nanoTime();
+        lazy.getStrategy(PaymentType.CARD);
+        System.out.println("[지연 등록] 첫 카드 결제 조회: " + elapsedMillis(start) + "ms, 준비 상태: " + lazy.readiness());
+
+        // 3. 지연 등록 + 백그라운드 병렬 워밍: 기동은 즉시, 준비 완료는 가장 느린 전략 하나 만큼
+        ExecutorService executor = Executors.newFixedThreadPool(PaymentType.values().length);
+        try {
+            start = System.nanoTime();
+            PaymentStrategyRegistry warmed = newLazyRegistry();
+            System.out.println("[병렬 워밍] 기동 시간: " + elapsedMillis(start) + "ms");
+            warmed.warmUpAsync(executor).join();
+            System.out.println("[병렬 워밍] 전체 준비 완료: " + elapsedMillis(start) + "ms, 준비 상태: " + warmed.readiness());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static PaymentStrategyRegistry newLazyRegistry() {
+        PaymentStrategyRegistry registry = new PaymentStrategyRegistry();
+        registry.register(PaymentType.CARD, slow(() -> new CardPaymentStrategy(new CardApiClient())));
+        registry.register(PaymentType.BANK_TRANSFER, slow(() -> new BankTransferStrategy(new BankApiClient())));
+        registry.register(PaymentType.KAKAO_PAY, slow(() -> new KakaoPayStrategy(new KakaoPayApiClient())));
+        return registry;
+    }
+
+    // 느린 초기화를 흉내 내는 공급자
+    private static Supplier<PaymentStrategy> slow(Supplier<PaymentStrategy> supplier) {
+        return () -> {
+            try {
+                Thread.sleep(INIT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return supplier.get();
+        };
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -13,9 +13,11 @@ import java.math.BigDecimal;
 public class ToBeMain {
     public static void main(String[] args) {
         PaymentStrategyRegistry registry = new PaymentStrategyRegistry();
-        registry.register(new CardPaymentStrategy(new CardApiClient()));
-        registry.register(new BankTransferStrategy(new BankApiClient()));
-        registry.register(new KakaoPayStrategy(new KakaoPayApiClient()));
+        // 전략 객체 대신 "만드는 방법"을 등록 → 처음 사용할 때 생성된다
+        registry.register(PaymentType.CARD, () -> new CardPaymentStrategy(new CardApiClient()));
+        registry.register(PaymentType.BANK_TRANSFER, () -> new BankTransferStrategy(new BankApiClient()));
+        registry.register(PaymentType.KAKAO_PAY, () -> new KakaoPayStrategy(new KakaoPayApiClient()));
+        System.out.println("준비 상태: " + registry.readiness());
 
         PaymentServiceToBe paymentService = new PaymentServiceToBe(registry);
 
@@ -47,5 +49,8 @@ public class ToBeMain {
                 cardResult.getTransactionId()
         );
         System.out.println("취소 성공: " + cancelResult.isSuccess());
+
+        // 계좌이체는 한 번도 쓰지 않았으므로 아직 생성되지 않았다
+        System.out.println("\n준비 상태: " + registry.readiness());
     }
 }
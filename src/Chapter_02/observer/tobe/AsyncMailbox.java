@@ -0,0 +1,284 @@
+package Chapter_02.observer.tobe;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 비동기 옵저버의 공통 뼈대 (push/pull AsyncWeatherObserver가 상속한다)
+ * <p>
+ * 알림 스레드는 offer()로 측정값을 메일박스(고정 크기 큐)에 넣기만 하고 바로 돌아간다.
+ * executor 스레드가 메일박스를 비우면서 하위 클래스의 deliver()를 부른다.
+ * 메일박스는 float 배열 하나로 된 링 버퍼라서 값을 넣을 때 객체를 만들지 않는다.
+ * deliver()는 항상 한 번에 하나씩, 들어온 순서대로 호출된다.
+ * <p>
+ * executor가 작업을 거부하면 (종료됨, 큐 가득 참 등) 대기 중인 측정값을 모두 버린 것으로 세고
+ * 예외는 밖으로 내보내지 않는다. 알림 루프의 다음 옵저버는 정상적으로 알림을 받는다.
+ * <p>
+ * 주의: BLOCK 정책에서 알림 스레드가 executor 스레드와 같으면 교착 상태가 된다.
+ */
+public abstract class AsyncMailbox {
+
+    // 메일박스가 가득 찼을 때의 처리 방식
+    public enum OverflowPolicy {
+        BLOCK,        // 빈자리가 날 때까지 알림 스레드가 기다린다
+        DROP_OLDEST,  // 가장 오래된 측정값을 버린다
+        CONFLATE      // 대기 중인 측정값을 최신 값으로 덮어쓴다 (대기열 최대 1개)
+    }
+
+    private final Object target;    // 감싼 옵저버 (이름 표시용)
+    private final Executor executor;
+    private final OverflowPolicy policy;
+    private final int capacity;
+    private final int fields;       // 측정값 하나당 float 개수
+    private final float[] mailbox;
+    private final float[] delivering; // drain 스레드 전용: 꺼낸 측정값을 담아 deliver()에 넘긴다
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private long head;          // 다음에 꺼낼 위치
+    private long tail;          // 다음에 넣을 위치
+    private boolean draining;   // executor에 drain 작업이 올라가 있는지
+
+    // === 메트릭 ===
+    private int maxQueueDepth;
+    private long droppedCount;
+    private long conflatedCount;
+    private long rejectedCount;
+    private volatile long deliveredCount;
+    private volatile long failedCount;
+    private volatile boolean metricsEnabled;
+    private volatile LatencyHistogram latencies;   // 처음 켤 때 만든다. drain은 한 번에 하나라 기록하는 스레드도 하나
+
+    protected AsyncMailbox(Object target, Executor executor, int capacity, OverflowPolicy policy, int fields) {
+        this.target = Objects.requireNonNull(target, "delegate must not be null");
+        this.executor = Objects.requireNonNull(executor, "executor must not be null");
+        this.policy = Objects.requireNonNull(policy, "policy must not be null");
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity는 0보다 커야 합니다: " + capacity);
+        }
+        if (fields <= 0 || fields > 4) {
+            throw new IllegalArgumentException("fields는 1 ~ 4 사이여야 합니다: " + fields);
+        }
+        this.capacity = policy == OverflowPolicy.CONFLATE ? 1 : capacity;
+        this.fields = fields;
+        this.mailbox = new float[this.capacity * fields];
+        this.delivering = new float[fields];
+    }
+
+    /**
+     * executor 스레드에서 측정값 하나를 전달한다. values는 재사용되는 배열이므로 호출이 끝난 뒤 붙잡아 두면 안 된다.
+     */
+    protected abstract void deliver(float[] values);
+
+    /**
+     * 알림 스레드에서 호출한다. 메일박스에 넣고 바로 돌아간다.
+     * 값은 앞에서부터 fields개만 쓰고 나머지는 무시한다.
+     */
+    protected final void offer(float v0, float v1, float v2, float v3) {
+        boolean schedule = false;
+        lock.lock();
+        try {
+            if (tail - head == capacity && !makeRoom()) {
+                return;
+            }
+            int slot = (int) (tail % capacity) * fields;
+            mailbox[slot] = v0;
+            if (fields > 1) {
+                mailbox[slot + 1] = v1;
+            }
+            if (fields > 2) {
+                mailbox[slot + 2] = v2;
+            }
+            if (fields > 3) {
+                mailbox[slot + 3] = v3;
+            }
+            tail++;
+            maxQueueDepth = Math.max(maxQueueDepth, (int) (tail - head));
+
+            if (!draining) {
+                draining = true;
+                schedule = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (schedule) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                onRejected(e);
+            }
+        }
+    }
+
+    // drain 작업이 올라가지 못했다. 메일박스를 비우고 버린 것으로 센다
+    // (그대로 두면 draining이 계속 true라서 다시는 전달되지 않고, BLOCK 정책이면 알림 스레드가 영원히 기다린다)
+    private void onRejected(RejectedExecutionException e) {
+        lock.lock();
+        try {
+            droppedCount += tail - head;
+            head = tail;
+            rejectedCount++;
+            draining = false;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        System.err.println("[" + getClass().getSimpleName() + "] " + targetName() + " 전달 작업이 거부됨: " + e);
+    }
+
+    // 메일박스가 가득 찼을 때 정책대로 자리를 만든다. 이번 측정값을 버려야 하면 false
+    private boolean makeRoom() {
+        switch (policy) {
+            case BLOCK:
+                try {
+                    while (tail - head == capacity) {
+                        notFull.await();
+                    }
+                    return true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    droppedCount++;
+                    return false;
+                }
+            case DROP_OLDEST:
+                head++;
+                droppedCount++;
+                return true;
+            case CONFLATE:
+                tail--; // 아직 전달되지 않은 값 자리에 최신 값을 덮어쓴다
+                conflatedCount++;
+                return true;
+            default:
+                throw new IllegalStateException("알 수 없는 정책: " + policy);
+        }
+    }
+
+    /**
+     * executor 스레드에서 실행된다. 메일박스가 빌 때까지 꺼내서 전달한다.
+     */
+    private void drain() {
+        while (true) {
+            lock.lock();
+            try {
+                if (head == tail) {
+                    draining = false;
+                    return;
+                }
+                System.arraycopy(mailbox, (int) (head % capacity) * fields, delivering, 0, fields);
+                head++;
+                notFull.signal();
+            } finally {
+                lock.unlock();
+            }
+
+            // 메트릭은 큐에 넣는 시간이 아니라 이 스레드에서 delegate가 실제로 걸린 시간을 잰다
+            LatencyHistogram histogram = metricsEnabled ? latencies : null;
+            long start = histogram == null ? 0L : System.nanoTime();
+            try {
+                deliver(delivering);
+                deliveredCount++;
+            } catch (RuntimeException e) {
+                failedCount++;
+                System.err.println("[" + getClass().getSimpleName() + "] " + targetName() + " 업데이트 실패: " + e);
+            } finally {
+                if (histogram != null) {
+                    histogram.record(System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+    private String targetName() {
+        String name = target.getClass().getSimpleName();
+        return name.isEmpty() ? target.getClass().getName() : name;
+    }
+
+    // === 알림 메트릭 (WeatherData가 켜고 끈다) ===
+
+    public void setMetricsEnabled(boolean enabled) {
+        if (enabled && latencies == null) {
+            latencies = new LatencyHistogram();
+        }
+        metricsEnabled = enabled;
+    }
+
+    // 전달 스레드에서 잰 처리 시간의 복사본 (잰 적이 없으면 빈 히스토그램)
+    public LatencyHistogram copyLatencies() {
+        LatencyHistogram histogram = latencies;
+        return histogram == null ? new LatencyHistogram() : histogram.copy();
+    }
+
+    // 메트릭에 표시할 이름: 래퍼가 아니라 감싼 대상의 이름
+    public String getMetricName() {
+        return "Async(" + targetName() + ")";
+    }
+
+    // === 메트릭 조회 ===
+
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return (int) (tail - head);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getMaxQueueDepth() {
+        lock.lock();
+        try {
+            return maxQueueDepth;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getDroppedCount() {
+        lock.lock();
+        try {
+            return droppedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getConflatedCount() {
+        lock.lock();
+        try {
+            return conflatedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // executor가 drain 작업을 거부한 횟수
+    public long getRejectedCount() {
+        lock.lock();
+        try {
+            return rejectedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getDeliveredCount() {
+        return deliveredCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    @Override
+    public String toString() {
+        return "Async(" + target.getClass().getSimpleName() + ", " + policy
+                + ", depth=" + getQueueDepth() + "/" + capacity
+                + ", delivered=" + deliveredCount + ", dropped=" + getDroppedCount()
+                + ", conflated=" + getConflatedCount() + ", rejected=" + getRejectedCount() + ")";
+    }
+}
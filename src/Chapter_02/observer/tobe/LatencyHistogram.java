@@ -0,0 +1,106 @@
+package Chapter_02.observer.tobe;
+
+/**
+ * 지연 시간(나노초) 히스토그램
+ * <p>
+ * 2의 거듭제곱 구간마다 16칸으로 나눈 로그-선형 버킷이라
+ * 1ns부터 수백 년까지 고정 크기 배열 하나로 담고, 상대 오차는 1/16(6.25%) 이내다.
+ * 기록은 배열 칸 하나를 올리는 것뿐이라 할당이 없다. 한 스레드에서만 기록한다.
+ * 다른 스레드에서는 copy()로 복사본을 떠서 읽는다. (기록과 겹치면 몇 건 어긋날 수 있음)
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long totalNanos;
+    private long minNanos = Long.MAX_VALUE;
+    private long maxNanos;
+
+    public LatencyHistogram() {
+    }
+
+    private LatencyHistogram(LatencyHistogram source) {
+        System.arraycopy(source.counts, 0, counts, 0, BUCKETS);
+        count = source.count;
+        totalNanos = source.totalNanos;
+        minNanos = source.minNanos;
+        maxNanos = source.maxNanos;
+    }
+
+    public LatencyHistogram copy() {
+        return new LatencyHistogram(this);
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[indexOf(value)]++;
+        count++;
+        totalNanos += value;
+        if (value < minNanos) minNanos = value;
+        if (value > maxNanos) maxNanos = value;
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    // 버킷에 들어가는 가장 큰 값
+    private static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lowerBound = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMinNanos() {
+        return count == 0 ? 0 : minNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public double getMeanNanos() {
+        return count == 0 ? 0 : (double) totalNanos / count;
+    }
+
+    /**
+     * 백분위 지연 시간 (버킷 상한값이므로 실제 값보다 최대 6.25% 크게 나올 수 있다)
+     */
+    public long getPercentileNanos(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("백분위는 0~100 사이여야 합니다: " + percentile);
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+}
@@ -0,0 +1,83 @@
+package Chapter_02.observer.tobe;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 알림 메트릭 스냅샷 (조회 시점의 복사본)
+ * - 알림 라운드(setMeasurements 한 번)마다 전체 옵저버에게 알리는 데 걸린 시간
+ * - 옵저버별 update() 지연 분포, 호출 수, 예외 수
+ */
+public final class NotificationMetrics {
+
+    private final LatencyHistogram fanOutLatencies;
+    private final List<ObserverStats> observers;
+
+    public NotificationMetrics(LatencyHistogram fanOutLatencies, List<ObserverStats> observers) {
+        this.fanOutLatencies = fanOutLatencies;
+        this.observers = Collections.unmodifiableList(observers);
+    }
+
+    public long getRounds() {
+        return fanOutLatencies.getCount();
+    }
+
+    public LatencyHistogram getFanOutLatencies() {
+        return fanOutLatencies;
+    }
+
+    public List<ObserverStats> getObservers() {
+        return observers;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(String.format(
+                "알림 %,d회, 전체 지연 p50 %,dns / p99 %,dns / 최대 %,dns%n",
+                getRounds(), fanOutLatencies.getPercentileNanos(50),
+                fanOutLatencies.getPercentileNanos(99), fanOutLatencies.getMaxNanos()));
+        for (ObserverStats observer : observers) {
+            sb.append("  ").append(observer).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 옵저버 하나의 메트릭
+     */
+    public static final class ObserverStats {
+
+        private final String name;
+        private final long failures;
+        private final LatencyHistogram latencies;
+
+        public ObserverStats(String name, long failures, LatencyHistogram latencies) {
+            this.name = name;
+            this.failures = failures;
+            this.latencies = latencies;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getUpdates() {
+            return latencies.getCount();
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public LatencyHistogram getLatencies() {
+            return latencies;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %,d회 (예외 %d), 평균 %,.0fns, p99 %,dns, 최대 %,dns",
+                    name, getUpdates(), failures, latencies.getMeanNanos(),
+                    latencies.getPercentileNanos(99), latencies.getMaxNanos());
+        }
+    }
+}
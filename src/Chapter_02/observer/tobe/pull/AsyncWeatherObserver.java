@@ -0,0 +1,52 @@
+package Chapter_02.observer.tobe.pull;
+
+import Chapter_02.observer.tobe.AsyncMailbox;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * 비동기 옵저버 (데코레이터)
+ * <p>
+ * 센서 스레드는 측정값을 이 옵저버의 메일박스(고정 크기 큐)에 넣기만 하고 바로 돌아간다.
+ * 실제 update()는 executor 스레드에서 메일박스를 비우면서 호출된다.
+ * 느린 디스플레이 하나 때문에 다른 옵저버나 센서 수집이 멈추지 않는다.
+ * <p>
+ * Pull 방식에서는 옵저버가 나중에 getter를 부르므로, 알림 시점의 값을 메일박스에 복사해 두고
+ * 전달할 때는 이 옵저버 전용 WeatherData 복제본에 채워서 넘긴다.
+ * (원본을 넘기면 그 사이 바뀐 값이나 반쯤 바뀐 값을 읽게 된다)
+ * <p>
+ * 메일박스, 넘침 정책, 거부 처리, 메트릭은 AsyncMailbox에 있다.
+ */
+public class AsyncWeatherObserver extends AsyncMailbox implements WeatherObserver {
+
+    private static final int FIELDS = 4; // temperature, humidity, pressure, windSpeed
+
+    private final WeatherObserver delegate;
+    private final WeatherData replica = new WeatherData(); // 옵저버 없는 복제본 (값 보관용, drain 스레드만 쓴다)
+
+    public AsyncWeatherObserver(WeatherObserver delegate, Executor executor, int capacity, OverflowPolicy policy) {
+        super(Objects.requireNonNull(delegate, "delegate must not be null"), executor, capacity, policy, FIELDS);
+        this.delegate = delegate;
+    }
+
+    /**
+     * 센서 스레드에서 호출된다. 알림 시점의 값을 메일박스에 복사하고 바로 돌아간다.
+     */
+    @Override
+    public void update(WeatherData weatherData) {
+        offer(weatherData.getTemperature(), weatherData.getHumidity(),
+                weatherData.getPressure(), weatherData.getWindSpeed());
+    }
+
+    @Override
+    protected void deliver(float[] values) {
+        // 복제본에는 옵저버가 없으므로 값만 바뀌고 알림은 나가지 않는다
+        replica.setMeasurements(values[0], values[1], values[2], values[3]);
+        delegate.update(replica);
+    }
+
+    public WeatherObserver getDelegate() {
+        return delegate;
+    }
+}
@@ -1,29 +1,58 @@
 package Chapter_02.observer.tobe.pull;
 
+import java.util.Objects;
+
 /**
  * 기상 예보 디스플레이
- * Pull 방식: 기압만 가져옴
+ * Pull 방식: 예측 모델이 측정값을 가져감
+ * <p>
+ * 직전 기압 하나와 비교하는 대신, 점진 예측 모델(ForecastModelBank)의 추세로 예보한다.
+ * 측정값 하나마다 O(1)로 갱신되고 과거 기록을 다시 훑지 않는다.
+ * 여러 관측소의 디스플레이가 모델 묶음 하나를 나눠 쓸 수 있다.
  */
-public class ForecastDisplay implements WeatherObserver{
+public class ForecastDisplay implements WeatherObserver {
+
+    // 측정 한 번당 기압 변화가 이보다 작으면 "유지"로 본다 (hPa)
+    private static final double PRESSURE_TREND_THRESHOLD = 0.05;
+    private static final int HORIZON = 10; // 측정 10번 뒤를 예측
+
+    private final ForecastModelBank models;
+    private final int stationId;
+
+    public ForecastDisplay() {
+        this(ForecastModelBank.withDefaults(1), 0);
+    }
 
-    private float lastPressure = 1013.25f;
+    public ForecastDisplay(ForecastModelBank models, int stationId) {
+        this.models = Objects.requireNonNull(models, "models must not be null");
+        // 잘못된 ID는 첫 알림(다른 옵저버들 사이)이 아니라 여기서 바로 알린다
+        if (stationId < 0 || stationId >= models.getStationCount()) {
+            throw new IllegalArgumentException("존재하지 않는 관측소: " + stationId);
+        }
+        this.stationId = stationId;
+    }
 
     @Override
     public void update(WeatherData weatherData) {
-        // 기압만 Pull!
-        float pressure = weatherData.getPressure();
-        // temperature, humidity는 필요 없으니 안 가져옴
+        // 모델이 필요한 값을 Pull해서 O(1)로 갱신
+        models.update(stationId, weatherData);
 
         System.out.println("=== 기상 예보 ===");
 
-        if (pressure > lastPressure) {
+        double pressureTrend = models.trend(stationId, WeatherField.PRESSURE);
+        if (pressureTrend > PRESSURE_TREND_THRESHOLD) {
             System.out.println("날씨가 좋아질 것으로 예상됩니다!");
-        } else if (pressure < lastPressure) {
+        } else if (pressureTrend < -PRESSURE_TREND_THRESHOLD) {
             System.out.println("비가 올 수 있으니 우산을 챙기세요.");
         } else {
             System.out.println("현재 날씨가 유지될 것으로 예상됩니다.");
         }
 
-        lastPressure = pressure;
+        if (models.getSampleCount(stationId) > 1) {
+            System.out.printf("예상 기압: %.1f hPa, 예상 온도: %.1f°C, 예상 습도: %.0f%%%n",
+                    models.forecast(stationId, WeatherField.PRESSURE, HORIZON),
+                    models.forecast(stationId, WeatherField.TEMPERATURE, HORIZON),
+                    models.forecast(stationId, WeatherField.HUMIDITY, HORIZON));
+        }
     }
 }
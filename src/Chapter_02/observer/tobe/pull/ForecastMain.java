@@ -0,0 +1,56 @@
+package Chapter_02.observer.tobe.pull;
+
+/**
+ * 점진 예측 모델 데모
+ * 1) 관측소 10만 개의 모델을 허브에 붙여 갱신 비용을 잰다 (기록 길이와 무관하게 일정)
+ * 2) 기압이 꾸준히 오르는 관측소 하나의 예측값을 본다
+ */
+public class ForecastMain {
+
+    private static final int STATIONS = 100_000;
+    private static final int MINUTES = 60;
+
+    public static void main(String[] args) {
+        ForecastModelBank models = ForecastModelBank.withDefaults(STATIONS);
+
+        try (WeatherStationHub hub = new WeatherStationHub(STATIONS, 2, 8_192)) {
+            hub.subscribeAll(models);
+            long start = System.nanoTime();
+            for (int minute = 0; minute < MINUTES; minute++) {
+                for (int station = 0; station < STATIONS; station++) {
+                    // 42번 관측소만 기압이 분당 0.2hPa씩 오르고 기온은 내려간다
+                    float pressure = station == 42 ? 1000.0f + 0.2f * minute : 1013.0f + (minute % 3);
+                    float temperature = station == 42 ? 25.0f - 0.1f * minute : 20.0f;
+                    hub.setMeasurements(station, temperature, 60.0f, pressure, 3.0f);
+                }
+            }
+            long total = (long) STATIONS * MINUTES;
+            while (hub.getProcessedCount() < total) {
+                Thread.onSpinWait();
+            }
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("관측소 %,d개 × %d분 = %,d건 갱신: %dms (%,.0f건/초)%n",
+                    STATIONS, MINUTES, total, elapsed / 1_000_000, total * 1e9 / elapsed);
+        }
+
+        System.out.println("\n=== 42번 관측소 ===");
+        System.out.printf("기압: EWMA %.2f, Holt 추세 %+.3f/분, 회귀 기울기 %+.3f/분%n",
+                models.smoothed(42, WeatherField.PRESSURE),
+                models.trend(42, WeatherField.PRESSURE),
+                models.regressionSlope(42, WeatherField.PRESSURE));
+        System.out.printf("30분 뒤 기압 예측: Holt %.2f hPa, 회귀 %.2f hPa (실제 추세대로면 %.2f)%n",
+                models.forecast(42, WeatherField.PRESSURE, 30),
+                models.regressionForecast(42, WeatherField.PRESSURE, 30),
+                1000.0 + 0.2 * (MINUTES - 1 + 30));
+        System.out.printf("30분 뒤 기온 예측: Holt %.2f°C, 회귀 %.2f°C%n",
+                models.forecast(42, WeatherField.TEMPERATURE, 30),
+                models.regressionForecast(42, WeatherField.TEMPERATURE, 30));
+
+        System.out.println("\n=== 단일 관측소 ForecastDisplay ===");
+        WeatherData weatherData = new WeatherData();
+        weatherData.subscribe(new ForecastDisplay());
+        for (int i = 0; i < 3; i++) {
+            weatherData.setMeasurements(18.0f, 70.0f, 1013.0f - 1.5f * i, 2.0f);
+        }
+    }
+}
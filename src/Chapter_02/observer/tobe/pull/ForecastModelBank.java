@@ -0,0 +1,187 @@
+package Chapter_02.observer.tobe.pull;
+
+/**
+ * 관측소 × 측정 필드별 점진(incremental) 예측 모델 묶음
+ * <p>
+ * 측정값 하나가 들어올 때마다 모델 상태만 고치고 과거 데이터는 다시 보지 않는다.
+ * 갱신/조회 모두 O(1)이고, 메모리는 관측소 수에만 비례한다. (기록 길이와 무관)
+ * <pre>
+ * EWMA          : 지수 가중 이동 평균 (잡음을 걸러낸 현재 수준)
+ * Holt 선형 추세 : 수준 + 추세를 따로 평활해서 h스텝 뒤를 외삽
+ * 온라인 회귀    : 지수 감쇠 가중 최소제곱 기울기 (최근 값일수록 큰 가중치)
+ * </pre>
+ * 모든 상태는 double 배열 하나에 [관측소][필드][상태] 순서로 붙어 있어서,
+ * 관측소 하나를 갱신할 때 연속된 메모리만 건드린다. 모델마다 객체를 만들지 않는다.
+ * <p>
+ * 한 관측소는 한 스레드에서만 갱신해야 한다. WeatherStationHub는 관측소마다 같은 레인에서
+ * 알리므로 subscribeAll()로 붙여도 된다.
+ */
+public class ForecastModelBank implements StationObserver {
+
+    private static final int FIELDS = WeatherField.values().length;
+
+    // 상태 슬롯
+    private static final int EWMA = 0;
+    private static final int LEVEL = 1;
+    private static final int TREND = 2;
+    private static final int SUM_W = 3;    // 감쇠 가중치 합
+    private static final int SUM_X = 4;    // x: 최신 측정값이 0, 한 스텝 전이 -1 ...
+    private static final int SUM_Y = 5;
+    private static final int SUM_XY = 6;
+    private static final int SUM_XX = 7;
+    private static final int STRIDE = 8;
+
+    private final int stationCount;
+    private final double ewmaAlpha;
+    private final double levelAlpha;
+    private final double trendBeta;
+    private final double regressionDecay;
+    private final double[] state;
+    private final long[] samples;
+
+    /**
+     * @param ewmaAlpha       EWMA 평활 계수 (0~1, 클수록 최신 값 반영이 빠름)
+     * @param levelAlpha      Holt 수준 평활 계수
+     * @param trendBeta       Holt 추세 평활 계수
+     * @param regressionDecay 회귀 가중치 감쇠율 (0~1, 0.99면 약 100스텝 기억)
+     */
+    public ForecastModelBank(int stationCount, double ewmaAlpha, double levelAlpha, double trendBeta,
+                             double regressionDecay) {
+        if (stationCount <= 0) {
+            throw new IllegalArgumentException("stationCount는 0보다 커야 합니다: " + stationCount);
+        }
+        requireFraction("ewmaAlpha", ewmaAlpha);
+        requireFraction("levelAlpha", levelAlpha);
+        requireFraction("trendBeta", trendBeta);
+        requireFraction("regressionDecay", regressionDecay);
+        this.stationCount = stationCount;
+        this.ewmaAlpha = ewmaAlpha;
+        this.levelAlpha = levelAlpha;
+        this.trendBeta = trendBeta;
+        this.regressionDecay = regressionDecay;
+        this.state = new double[Math.multiplyExact(stationCount, FIELDS * STRIDE)];
+        this.samples = new long[stationCount];
+    }
+
+    // 보통 1분 간격 측정에 맞춘 기본값
+    public static ForecastModelBank withDefaults(int stationCount) {
+        return new ForecastModelBank(stationCount, 0.2, 0.3, 0.1, 0.98);
+    }
+
+    private static void requireFraction(String name, double value) {
+        if (!(value > 0 && value <= 1)) {
+            throw new IllegalArgumentException(name + "는 0 초과 1 이하여야 합니다: " + value);
+        }
+    }
+
+    // === 갱신 ===
+
+    @Override
+    public void update(int stationId, float temperature, float humidity, float pressure, float windSpeed) {
+        checkStation(stationId);
+        boolean first = samples[stationId]++ == 0;
+        int base = stationId * FIELDS * STRIDE;
+        updateSeries(base + WeatherField.TEMPERATURE.ordinal() * STRIDE, temperature, first);
+        updateSeries(base + WeatherField.HUMIDITY.ordinal() * STRIDE, humidity, first);
+        updateSeries(base + WeatherField.PRESSURE.ordinal() * STRIDE, pressure, first);
+        updateSeries(base + WeatherField.WIND_SPEED.ordinal() * STRIDE, windSpeed, first);
+    }
+
+    public void update(int stationId, WeatherData weatherData) {
+        update(stationId, weatherData.getTemperature(), weatherData.getHumidity(),
+                weatherData.getPressure(), weatherData.getWindSpeed());
+    }
+
+    private void updateSeries(int at, double y, boolean first) {
+        double[] s = state;
+        if (first) {
+            s[at + EWMA] = y;
+            s[at + LEVEL] = y;
+            s[at + TREND] = 0;
+        } else {
+            s[at + EWMA] += ewmaAlpha * (y - s[at + EWMA]);
+
+            double previousLevel = s[at + LEVEL];
+            double level = levelAlpha * y + (1 - levelAlpha) * (previousLevel + s[at + TREND]);
+            s[at + TREND] = trendBeta * (level - previousLevel) + (1 - trendBeta) * s[at + TREND];
+            s[at + LEVEL] = level;
+        }
+
+        // 기존 점들을 한 스텝 과거로 밀고(x → x-1), 가중치를 감쇠한 뒤 새 점을 x=0에 더한다.
+        // x가 계속 커지지 않으므로 오래 돌려도 합계가 넘치거나 정밀도를 잃지 않는다.
+        double w = s[at + SUM_W];
+        double sx = s[at + SUM_X];
+        double sy = s[at + SUM_Y];
+        double sxy = s[at + SUM_XY];
+        double sxx = s[at + SUM_XX];
+        sxx = sxx - 2 * sx + w;
+        sxy = sxy - sy;
+        sx = sx - w;
+        double d = regressionDecay;
+        s[at + SUM_W] = d * w + 1;
+        s[at + SUM_X] = d * sx;
+        s[at + SUM_Y] = d * sy + y;
+        s[at + SUM_XY] = d * sxy;
+        s[at + SUM_XX] = d * sxx;
+    }
+
+    // === 조회 ===
+
+    public long getSampleCount(int stationId) {
+        checkStation(stationId);
+        return samples[stationId];
+    }
+
+    public double smoothed(int stationId, WeatherField field) {
+        return state[slot(stationId, field) + EWMA];
+    }
+
+    // Holt 추세 (측정 한 번당 변화량)
+    public double trend(int stationId, WeatherField field) {
+        return state[slot(stationId, field) + TREND];
+    }
+
+    // Holt 예측: steps번 측정 뒤의 값
+    public double forecast(int stationId, WeatherField field, int steps) {
+        int at = slot(stationId, field);
+        return state[at + LEVEL] + steps * state[at + TREND];
+    }
+
+    // 감쇠 가중 회귀 기울기 (측정 한 번당 변화량). 점이 2개 미만이면 0
+    public double regressionSlope(int stationId, WeatherField field) {
+        int at = slot(stationId, field);
+        double w = state[at + SUM_W];
+        double denominator = w * state[at + SUM_XX] - state[at + SUM_X] * state[at + SUM_X];
+        if (denominator <= 1e-12) {
+            return 0;
+        }
+        return (w * state[at + SUM_XY] - state[at + SUM_X] * state[at + SUM_Y]) / denominator;
+    }
+
+    // 회귀 직선으로 steps번 측정 뒤의 값
+    public double regressionForecast(int stationId, WeatherField field, int steps) {
+        int at = slot(stationId, field);
+        double w = state[at + SUM_W];
+        if (w == 0) {
+            return Double.NaN;
+        }
+        double slope = regressionSlope(stationId, field);
+        double intercept = (state[at + SUM_Y] - slope * state[at + SUM_X]) / w;
+        return intercept + slope * steps;
+    }
+
+    public int getStationCount() {
+        return stationCount;
+    }
+
+    private int slot(int stationId, WeatherField field) {
+        checkStation(stationId);
+        return (stationId * FIELDS + field.ordinal()) * STRIDE;
+    }
+
+    private void checkStation(int stationId) {
+        if (stationId < 0 || stationId >= stationCount) {
+            throw new IllegalArgumentException("존재하지 않는 관측소: " + stationId);
+        }
+    }
+}
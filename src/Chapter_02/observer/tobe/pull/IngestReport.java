@@ -0,0 +1,60 @@
+package Chapter_02.observer.tobe.pull;
+
+/**
+ * 수집 결과: 처리한 레코드/바이트 수와 소요 시간, 건너뛴 줄
+ * 건너뛴 줄은 싱크로 넘어가지 않았을 뿐 수집을 멈추지 않는다. 첫 번째 오류만 위치와 함께 남긴다.
+ */
+public final class IngestReport {
+
+    private final long records;
+    private final long rejectedLines;
+    private final String firstRejection;   // 없으면 null
+    private final long bytes;
+    private final long elapsedNanos;
+
+    IngestReport(long records, long rejectedLines, String firstRejection, long bytes, long elapsedNanos) {
+        this.records = records;
+        this.rejectedLines = rejectedLines;
+        this.firstRejection = firstRejection;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    // 형식이 틀려서 건너뛴 줄 수
+    public long getRejectedLines() {
+        return rejectedLines;
+    }
+
+    // 첫 번째로 건너뛴 줄의 위치와 이유 (예: "줄 12 (offset 345): 숫자가 필요합니다"), 없으면 null
+    public String getFirstRejection() {
+        return firstRejection;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getMegabytesPerSecond() {
+        return elapsedNanos == 0 ? 0 : bytes / 1_048_576.0 / (elapsedNanos / 1e9);
+    }
+
+    public double getRecordsPerSecond() {
+        return elapsedNanos == 0 ? 0 : records / (elapsedNanos / 1e9);
+    }
+
+    @Override
+    public String toString() {
+        String summary = String.format("%,d건, %,d바이트, %dms (%.1f MB/s, %,.0f건/초)",
+                records, bytes, elapsedNanos / 1_000_000, getMegabytesPerSecond(), getRecordsPerSecond());
+        return rejectedLines == 0 ? summary
+                : summary + String.format(", 건너뛴 줄 %,d개 (첫 오류: %s)", rejectedLines, firstRejection);
+    }
+}
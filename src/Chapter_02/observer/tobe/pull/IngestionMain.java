@@ -0,0 +1,130 @@
+package Chapter_02.observer.tobe.pull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 센서 피드 대량 수집 데모
+ * 1) CSV 파일 → 관측소 허브 (메모리 매핑)
+ * 2) 바이너리 파일 → 관측소 허브 (메모리 매핑)
+ * 3) CSV 스트림(Pipe로 TCP 소켓 흉내) → WeatherData 하나
+ */
+public class IngestionMain {
+
+    private static final int STATIONS = 10_000;
+    private static final int RECORDS = 2_000_000;
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Files.createTempDirectory("ingest");
+        Path csv = dir.resolve("feed.csv");
+        Path binary = dir.resolve("feed.bin");
+        writeCsv(csv);
+        writeBinary(binary);
+
+        try (WeatherStationHub hub = new WeatherStationHub(STATIONS, 2, 8_192)) {
+            LongAdder delivered = new LongAdder();
+            hub.subscribeAll((id, t, h, p, w) -> delivered.increment());
+            MeasurementIngestor ingestor = new MeasurementIngestor(MeasurementSink.of(hub), 4_096);
+
+            System.out.println("=== CSV 파일 → 허브 ===");
+            IngestReport csvReport = ingestor.ingestCsv(csv);
+            System.out.println(csvReport);
+
+            System.out.println("\n=== 바이너리 파일 → 허브 ===");
+            IngestReport binaryReport = ingestor.ingestBinary(binary);
+            System.out.println(binaryReport);
+
+            while (hub.getProcessedCount() < ingestor.getTotalRecords()) {
+                Thread.onSpinWait();
+            }
+            System.out.println("허브 전달 건수: " + delivered.sum() + ", 42번 관측소 온도: " + hub.getTemperature(42));
+        }
+
+        System.out.println("\n=== CSV 스트림 → WeatherData ===");
+        WeatherData weatherData = new WeatherData();
+        LongAdder updates = new LongAdder();
+        weatherData.subscribe(data -> updates.increment());
+        MeasurementIngestor streamIngestor = new MeasurementIngestor(MeasurementSink.of(weatherData), 1_024);
+
+        Pipe pipe = Pipe.open();
+        Thread sender = new Thread(() -> {
+            try (Pipe.SinkChannel out = pipe.sink();
+                 FileChannel in = FileChannel.open(csv, StandardOpenOption.READ)) {
+                // transferTo는 한 번에 다 보내지 못할 수 있다
+                for (long sent = 0; sent < in.size(); ) {
+                    sent += in.transferTo(sent, in.size() - sent, out);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }, "sensor-sender");
+        sender.start();
+        try (Pipe.SourceChannel source = pipe.source()) {
+            System.out.println(streamIngestor.ingestCsv(source));
+        }
+        sender.join();
+        System.out.println("옵저버 알림 횟수: " + updates.sum());
+        System.out.printf("마지막 측정값: 온도 %.1f, 습도 %.1f, 기압 %.1f, 풍속 %.1f%n",
+                weatherData.getTemperature(), weatherData.getHumidity(),
+                weatherData.getPressure(), weatherData.getWindSpeed());
+
+        // 4. 형식이 틀린 줄은 건너뛰고 개수와 첫 오류 위치만 보고한다
+        String broken = "stationId,temperature,humidity,pressure,windSpeed\n"
+                + "1,20.5,60,1013,3\n"
+                + "2,21.x,60,1013,3\n"
+                + "-3,19.0,55,1012,2\n"
+                + "4,18.0,50,1011,1\n";
+        MeasurementIngestor lenient = new MeasurementIngestor(batch -> { }, 16);
+        System.out.println(lenient.ingestCsv(
+                Channels.newChannel(new ByteArrayInputStream(broken.getBytes(StandardCharsets.US_ASCII)))));
+
+        Files.delete(csv);
+        Files.delete(binary);
+        Files.delete(dir);
+    }
+
+    private static void writeCsv(Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            writer.write("stationId,temperature,humidity,pressure,windSpeed\n");
+            for (int i = 0; i < RECORDS; i++) {
+                writer.write(String.format(Locale.ROOT, "%d,%.2f,%.1f,%.1f,%.1f\n",
+                        i % STATIONS, temperatureOf(i), 40f + i % 50, 1000f + i % 30, (float) (i % 15)));
+            }
+        }
+    }
+
+    private static void writeBinary(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(MeasurementIngestor.BINARY_RECORD_BYTES * 4_096)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (int i = 0; i < RECORDS; i++) {
+                buffer.putInt(i % STATIONS).putFloat(temperatureOf(i))
+                        .putFloat(40 + i % 50).putFloat(1000 + i % 30).putFloat(i % 15);
+                if (!buffer.hasRemaining()) {
+                    buffer.flip();
+                    channel.write(buffer);
+                    buffer.clear();
+                }
+            }
+            buffer.flip();
+            channel.write(buffer);
+        }
+    }
+
+    private static float temperatureOf(int i) {
+        return -10.0f + (i % 500) * 0.1f;
+    }
+}
@@ -0,0 +1,68 @@
+package Chapter_02.observer.tobe.pull;
+
+/**
+ * 재사용하는 측정값 묶음 (컬럼 배열)
+ * 수집기는 한 묶음을 채워서 싱크에 넘기고, 싱크가 돌아오면 비우고 다시 채운다.
+ * 싱크는 accept() 안에서만 값을 읽어야 한다. (돌아온 뒤에는 덮어써짐)
+ */
+public final class MeasurementBatch {
+
+    final int[] stationIds;
+    final float[] temperatures;
+    final float[] humidities;
+    final float[] pressures;
+    final float[] windSpeeds;
+    int size;
+
+    public MeasurementBatch(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity는 0보다 커야 합니다: " + capacity);
+        }
+        this.stationIds = new int[capacity];
+        this.temperatures = new float[capacity];
+        this.humidities = new float[capacity];
+        this.pressures = new float[capacity];
+        this.windSpeeds = new float[capacity];
+    }
+
+    void add(int stationId, float temperature, float humidity, float pressure, float windSpeed) {
+        stationIds[size] = stationId;
+        temperatures[size] = temperature;
+        humidities[size] = humidity;
+        pressures[size] = pressure;
+        windSpeeds[size] = windSpeed;
+        size++;
+    }
+
+    boolean isFull() {
+        return size == stationIds.length;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int stationIdAt(int index) {
+        return stationIds[index];
+    }
+
+    public float temperatureAt(int index) {
+        return temperatures[index];
+    }
+
+    public float humidityAt(int index) {
+        return humidities[index];
+    }
+
+    public float pressureAt(int index) {
+        return pressures[index];
+    }
+
+    public float windSpeedAt(int index) {
+        return windSpeeds[index];
+    }
+}
@@ -0,0 +1,14 @@
+package Chapter_02.observer.tobe.pull;
+
+/**
+ * 링 버퍼 소비자 인터페이스
+ * <p>
+ * 한 번 깨어날 때 쌓여 있던 측정값을 연달아 받는다.
+ * endOfBatch가 true면 이번 묶음의 마지막 값이므로, 화면 갱신 같은 비싼 작업은
+ * 그때 한 번만 하면 된다.
+ */
+public interface MeasurementEventHandler {
+
+    void onEvent(float temperature, float humidity, float pressure, float windSpeed,
+                 long sequence, boolean endOfBatch);
+}
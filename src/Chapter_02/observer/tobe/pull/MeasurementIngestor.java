@@ -0,0 +1,298 @@
+package Chapter_02.observer.tobe.pull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * 센서 피드 대량 수집기 (NIO)
+ * <p>
+ * 한 줄씩 읽어 String.split → Float.parseFloat 하는 대신, 바이트를 직접 훑어서 숫자로 바꾼다.
+ * 중간 문자열을 만들지 않고, 측정값은 MeasurementBatch에 모아 싱크로 한 번에 넘긴다.
+ * <pre>
+ * CSV    : stationId,temperature,humidity,pressure,windSpeed\n  (숫자나 '-'로 시작하지 않는 줄은 헤더로 보고 건너뜀)
+ * 바이너리: int stationId + float × 4, 리틀 엔디언, 레코드당 20바이트
+ * </pre>
+ * 파일은 메모리 매핑으로, 스트림(TCP 소켓 등)은 direct 버퍼로 읽는다.
+ * <p>
+ * 형식이 틀린 CSV 줄은 건너뛰고 개수와 첫 오류 위치(줄 번호, 파일 오프셋)만 IngestReport에 남긴다.
+ * 레코드는 묶음이 찰 때마다 싱크로 넘어가므로, I/O 오류 등으로 수집이 중간에 멈추면
+ * 그 전까지 넘어간 묶음은 되돌리지 않는다. (싱크 쪽에서 이어받기 기준으로 쓸 수 있도록 getTotalRecords 제공)
+ * 한 스레드에서만 사용한다.
+ */
+public class MeasurementIngestor {
+
+    public static final int BINARY_RECORD_BYTES = Integer.BYTES + 4 * Float.BYTES;
+
+    private static final long WINDOW_BYTES = 1L << 30;
+    private static final int STREAM_BUFFER_BYTES = 1 << 16;
+    private static final double[] POWERS_OF_TEN = {1, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9,
+            1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18};
+
+    private final MeasurementSink sink;
+    private final MeasurementBatch batch;
+    private long records;
+
+    // 파싱 중인 위치 (parseLine이 돌려주는 대신 필드로 들고 다녀 할당을 피함)
+    private int cursor;
+    private long parsedLong;
+
+    // 현재 수집 중인 입력의 줄 번호와, buffer 0번 위치의 입력 내 오프셋 (오류 보고용)
+    private long lineNumber;
+    private long bufferOffset;
+    private long rejectedLines;
+    private String firstRejection;
+
+    public MeasurementIngestor(MeasurementSink sink, int batchSize) {
+        this.sink = Objects.requireNonNull(sink, "sink must not be null");
+        this.batch = new MeasurementBatch(batchSize);
+    }
+
+    // === CSV 파일 (메모리 매핑) ===
+
+    public IngestReport ingestCsv(Path file) throws IOException {
+        long start = System.nanoTime();
+        long recordsBefore = records;
+        beginCsv();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(WINDOW_BYTES, size - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                bufferOffset = position;
+                boolean last = position + length == size;
+                int consumed = parseCsv(window, last);
+                if (consumed == 0 && !last) {
+                    throw new IOException("한 줄이 너무 깁니다 (offset " + position + ")");
+                }
+                // 창 끝에 걸친 줄은 다음 창에서 처음부터 다시 읽는다
+                position += consumed;
+            }
+            flush();
+            return new IngestReport(records - recordsBefore, rejectedLines, firstRejection, size,
+                    System.nanoTime() - start);
+        }
+    }
+
+    // === CSV 스트림 (TCP 소켓 등) ===
+
+    public IngestReport ingestCsv(ReadableByteChannel channel) throws IOException {
+        long start = System.nanoTime();
+        long recordsBefore = records;
+        long bytes = 0;
+        beginCsv();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(STREAM_BUFFER_BYTES);
+        while (true) {
+            int read = channel.read(buffer);
+            boolean endOfStream = read < 0;
+            if (read > 0) {
+                bytes += read;
+            }
+            buffer.flip();
+            int consumed = parseCsv(buffer, endOfStream);
+            bufferOffset += consumed;
+            buffer.position(consumed);
+            buffer.compact(); // 아직 끝나지 않은 줄은 버퍼 앞으로 당겨 둔다
+            if (endOfStream) {
+                break;
+            }
+            if (!buffer.hasRemaining()) {
+                throw new IOException("한 줄이 버퍼보다 깁니다: " + STREAM_BUFFER_BYTES + "바이트");
+            }
+        }
+        flush();
+        return new IngestReport(records - recordsBefore, rejectedLines, firstRejection, bytes,
+                System.nanoTime() - start);
+    }
+
+    // === 바이너리 파일 (메모리 매핑) ===
+
+    public IngestReport ingestBinary(Path file) throws IOException {
+        long start = System.nanoTime();
+        long recordsBefore = records;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % BINARY_RECORD_BYTES != 0) {
+                throw new IOException("바이너리 파일 크기가 레코드 크기의 배수가 아닙니다: " + size);
+            }
+            long windowBytes = WINDOW_BYTES - WINDOW_BYTES % BINARY_RECORD_BYTES;
+            for (long position = 0; position < size; position += windowBytes) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(windowBytes, size - position));
+                window.order(ByteOrder.LITTLE_ENDIAN);
+                for (int offset = 0; offset < window.limit(); offset += BINARY_RECORD_BYTES) {
+                    add(window.getInt(offset),
+                            window.getFloat(offset + 4),
+                            window.getFloat(offset + 8),
+                            window.getFloat(offset + 12),
+                            window.getFloat(offset + 16));
+                }
+            }
+            flush();
+            return new IngestReport(records - recordsBefore, 0, null, size, System.nanoTime() - start);
+        }
+    }
+
+    // === 파싱 ===
+
+    private void beginCsv() {
+        lineNumber = 0;
+        bufferOffset = 0;
+        rejectedLines = 0;
+        firstRejection = null;
+    }
+
+    /**
+     * buffer의 position부터 완전한 줄들을 파싱한다.
+     * 마지막 입력이면 개행 없는 마지막 줄도 파싱한다.
+     *
+     * @return 다 읽은 마지막 줄 다음 위치 (buffer 기준 절대 위치)
+     */
+    private int parseCsv(ByteBuffer buffer, boolean endOfInput) {
+        int limit = buffer.limit();
+        int lineStart = buffer.position();
+        while (lineStart < limit) {
+            int lineEnd = indexOfNewline(buffer, lineStart, limit);
+            if (lineEnd < 0) {
+                if (!endOfInput) {
+                    break;
+                }
+                lineEnd = limit;
+            }
+            lineNumber++;
+            try {
+                parseLine(buffer, lineStart, lineEnd);
+            } catch (IllegalArgumentException e) {
+                // 형식이 틀린 줄은 건너뛰고 계속한다 (앞서 싱크로 넘어간 묶음과 섞여 반쪽짜리 수집이 되지 않게)
+                rejectedLines++;
+                if (firstRejection == null) {
+                    firstRejection = "줄 " + lineNumber + " (offset " + (bufferOffset + cursor) + "): " + e.getMessage();
+                }
+            }
+            lineStart = Math.min(lineEnd + 1, limit);
+        }
+        return lineStart;
+    }
+
+    private static int indexOfNewline(ByteBuffer buffer, int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void parseLine(ByteBuffer buffer, int start, int end) {
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        if (start == end) {
+            return; // 빈 줄
+        }
+        byte first = buffer.get(start);
+        if (first != '-' && (first < '0' || first > '9')) {
+            return; // 헤더
+        }
+
+        cursor = start;
+        long stationId = parseLong(buffer, end);
+        if (stationId < 0 || stationId > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("관측소 ID 범위를 벗어났습니다: " + stationId);
+        }
+        float temperature = parseFloat(buffer, end);
+        float humidity = parseFloat(buffer, end);
+        float pressure = parseFloat(buffer, end);
+        float windSpeed = parseFloat(buffer, end);
+        add((int) stationId, temperature, humidity, pressure, windSpeed);
+    }
+
+    // 헤더 판별과 같은 규칙으로 '-' 부호를 받는다 (음수 ID는 호출한 쪽에서 걸러 냄)
+    private long parseLong(ByteBuffer buffer, int end) {
+        boolean negative = cursor < end && buffer.get(cursor) == '-';
+        if (negative) {
+            cursor++;
+        }
+        int digitsStart = cursor;
+        parseDigits(buffer, end);
+        if (cursor == digitsStart) {
+            throw new IllegalArgumentException("정수가 필요합니다");
+        }
+        long value = negative ? -parsedLong : parsedLong;
+        skipSeparator(buffer, end);
+        return value;
+    }
+
+    // 부호, 정수부, 소수부만 지원 (예: -12.75). 지수 표기는 지원하지 않는다
+    private float parseFloat(ByteBuffer buffer, int end) {
+        boolean negative = cursor < end && buffer.get(cursor) == '-';
+        if (negative) {
+            cursor++;
+        }
+        parseDigits(buffer, end);
+        double value = parsedLong;
+        if (cursor < end && buffer.get(cursor) == '.') {
+            cursor++;
+            int fractionStart = cursor;
+            parseDigits(buffer, end);
+            int digits = Math.min(cursor - fractionStart, POWERS_OF_TEN.length - 1);
+            value += parsedLong / POWERS_OF_TEN[digits];
+        }
+        skipSeparator(buffer, end);
+        return (float) (negative ? -value : value);
+    }
+
+    private void parseDigits(ByteBuffer buffer, int end) {
+        long value = 0;
+        int start = cursor;
+        while (cursor < end) {
+            int digit = buffer.get(cursor) - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            value = value * 10 + digit;
+            cursor++;
+        }
+        if (cursor == start && (cursor >= end || buffer.get(cursor) != '.')) {
+            throw new IllegalArgumentException("숫자가 필요합니다");
+        }
+        parsedLong = value;
+    }
+
+    private void skipSeparator(ByteBuffer buffer, int end) {
+        if (cursor < end) {
+            if (buffer.get(cursor) != ',') {
+                throw new IllegalArgumentException("',' 가 필요합니다");
+            }
+            cursor++;
+        }
+    }
+
+    // === 배치 ===
+
+    private void add(int stationId, float temperature, float humidity, float pressure, float windSpeed) {
+        batch.add(stationId, temperature, humidity, pressure, windSpeed);
+        records++;
+        if (batch.isFull()) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        if (batch.size() > 0) {
+            sink.accept(batch);
+            batch.clear();
+        }
+    }
+
+    public long getTotalRecords() {
+        return records;
+    }
+}
@@ -0,0 +1,176 @@
+package Chapter_02.observer.tobe.pull;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 측정값 링 버퍼 이벤트 버스 (단일 생산자, 다중 소비자)
+ * <p>
+ * WeatherData의 "옵저버 배열을 돌며 update() 호출" 대신, 미리 할당한 슬롯에 값을 써 넣고
+ * 시퀀스 번호만 올린다. 각 소비자는 자기 스레드에서 자기 시퀀스를 따라오며,
+ * 한 번 깨어날 때 밀린 측정값을 묶음(batch)으로 처리한다.
+ * <pre>
+ * 생산자: 슬롯[seq & mask]에 값 기록 → cursor = seq   (객체 할당 없음)
+ * 소비자: cursor까지 읽고 → 자기 sequence = cursor
+ * </pre>
+ * 생산자는 가장 느린 소비자보다 한 바퀴 이상 앞서 나가지 않도록 기다린다. (덮어쓰기 방지)
+ * 슬롯은 필드별 float 배열(컬럼)이라 객체 헤더 없이 연속된 메모리에 놓인다.
+ * <p>
+ * publish()는 한 스레드(센서 스레드)에서만 호출해야 한다.
+ */
+public class MeasurementRingBuffer {
+
+    private final int mask;
+    private final float[] temperature;
+    private final float[] humidity;
+    private final float[] pressure;
+    private final float[] windSpeed;
+
+    // 마지막으로 발행된 시퀀스 (소비자가 읽음)
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private volatile Consumer[] consumers = new Consumer[0];
+
+    // 생산자 스레드 전용
+    private long nextSequence = -1;
+    private long cachedGate = -1;
+
+    public MeasurementRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity는 2의 거듭제곱이어야 합니다: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.temperature = new float[capacity];
+        this.humidity = new float[capacity];
+        this.pressure = new float[capacity];
+        this.windSpeed = new float[capacity];
+    }
+
+    /**
+     * 소비자 등록. 등록 시점 이후에 발행된 측정값부터 받는다.
+     * 반환된 Consumer를 스레드로 실행하면 된다. (new Thread(consumer).start())
+     */
+    public synchronized Consumer addConsumer(MeasurementEventHandler handler) {
+        Consumer consumer = new Consumer(Objects.requireNonNull(handler, "handler must not be null"), cursor.get());
+        Consumer[] next = Arrays.copyOf(consumers, consumers.length + 1);
+        next[consumers.length] = consumer;
+        consumers = next;
+        return consumer;
+    }
+
+    public synchronized void removeConsumer(Consumer consumer) {
+        consumer.halt();
+        consumers = Arrays.stream(consumers).filter(c -> c != consumer).toArray(Consumer[]::new);
+    }
+
+    /**
+     * 측정값 발행 (단일 생산자 전용)
+     */
+    public long publish(float temperature, float humidity, float pressure, float windSpeed) {
+        long sequence = ++nextSequence;
+        long wrapPoint = sequence - (mask + 1);
+        if (wrapPoint > cachedGate) {
+            long minimum;
+            while (wrapPoint > (minimum = minimumConsumerSequence(sequence - 1))) {
+                LockSupport.parkNanos(1); // 가장 느린 소비자가 자리를 비워줄 때까지 대기
+            }
+            cachedGate = minimum;
+        }
+
+        int index = (int) sequence & mask;
+        this.temperature[index] = temperature;
+        this.humidity[index] = humidity;
+        this.pressure[index] = pressure;
+        this.windSpeed[index] = windSpeed;
+
+        cursor.setRelease(sequence); // 슬롯 기록이 cursor보다 먼저 보이도록 보장
+        return sequence;
+    }
+
+    private long minimumConsumerSequence(long defaultValue) {
+        long minimum = defaultValue;
+        for (Consumer consumer : consumers) {
+            minimum = Math.min(minimum, consumer.sequence.get());
+        }
+        return minimum;
+    }
+
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * 소비자: 자기 시퀀스를 들고 cursor를 따라가며 묶음 단위로 핸들러를 호출한다.
+     * 읽을 것이 없으면 잠깐 스핀 → yield → park 순서로 점점 느슨하게 기다린다.
+     */
+    public final class Consumer implements Runnable {
+        private static final int SPIN_TRIES = 100;
+        private static final int YIELD_TRIES = 100;
+        private static final long PARK_NANOS = 50_000;
+
+        private final MeasurementEventHandler handler;
+        private final AtomicLong sequence;
+        private volatile boolean running = true;
+        private volatile long batchCount;
+
+        private Consumer(MeasurementEventHandler handler, long startSequence) {
+            this.handler = handler;
+            this.sequence = new AtomicLong(startSequence);
+        }
+
+        @Override
+        public void run() {
+            int idle = 0;
+            while (running) {
+                long next = sequence.get() + 1;
+                long available = cursor.get();
+                if (available < next) {
+                    idle = idle(idle);
+                    continue;
+                }
+                idle = 0;
+
+                for (long s = next; s <= available; s++) {
+                    int index = (int) s & mask;
+                    try {
+                        handler.onEvent(temperature[index], humidity[index], pressure[index], windSpeed[index],
+                                s, s == available);
+                    } catch (RuntimeException e) {
+                        System.err.println("[MeasurementRingBuffer] 소비자 처리 실패 (seq=" + s + "): " + e);
+                    }
+                }
+                batchCount++;
+                sequence.setRelease(available); // 다 읽은 슬롯은 생산자가 재사용해도 된다
+            }
+        }
+
+        private int idle(int idle) {
+            if (idle < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (idle < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+            return idle + 1;
+        }
+
+        public void halt() {
+            running = false;
+        }
+
+        public long getSequence() {
+            return sequence.get();
+        }
+
+        // 지금까지 깨어나서 처리한 묶음 수 (측정값 수 / 묶음 수 = 평균 배치 크기)
+        public long getBatchCount() {
+            return batchCount;
+        }
+    }
+}
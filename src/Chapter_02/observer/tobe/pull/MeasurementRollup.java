@@ -0,0 +1,239 @@
+package Chapter_02.observer.tobe.pull;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * 다중 해상도 롤업 (예: 1초 / 1분 / 1시간)
+ * <p>
+ * 측정값이 들어올 때마다 단계별로 "현재 버킷" 하나의 최소/최대/합계/개수만 고친다. (단계 수만큼 O(1))
+ * 버킷은 단계마다 고정 크기 링 버퍼에 있어서, 오래된 버킷은 새 버킷이 덮어쓴다.
+ * 관측소당 메모리는 단계 설정으로 정해지고 기록 기간이 길어져도 늘지 않는다.
+ * <p>
+ * 조회는 요청한 해상도를 만족하면서 구간을 아직 보관 중인 가장 거친 단계에서 읽는다.
+ * "일주일치를 1분 단위로"는 원본 측정값 60만 건 대신 1분 버킷 1만 개만 읽는다.
+ * <p>
+ * 한 관측소는 한 스레드에서만 갱신해야 한다. (WeatherStationHub는 관측소마다 같은 레인에서 알림)
+ * 조회는 다른 스레드에서 해도 되며, 관측소별 버전 번호(seqlock)로 갱신 도중의 값을 읽었으면 다시 읽는다.
+ */
+public class MeasurementRollup implements StationObserver {
+
+    private static final int FIELDS = WeatherField.values().length;
+    private static final int OPTIMISTIC_RETRIES = 8;
+
+    private final int stationCount;
+    private final LongSupplier clock;
+    private final RollupTier[] tiers;
+    private final Ring[] rings;
+    private final AtomicLongArray versions;   // 관측소별: 홀수면 갱신 중
+
+    /**
+     * @param tiers 해상도가 가는 것부터 거친 것 순서
+     */
+    public MeasurementRollup(int stationCount, LongSupplier clock, RollupTier... tiers) {
+        if (stationCount <= 0) {
+            throw new IllegalArgumentException("stationCount는 0보다 커야 합니다: " + stationCount);
+        }
+        if (tiers.length == 0) {
+            throw new IllegalArgumentException("롤업 단계가 하나 이상 필요합니다");
+        }
+        for (int i = 1; i < tiers.length; i++) {
+            if (tiers[i].getResolutionMillis() <= tiers[i - 1].getResolutionMillis()) {
+                throw new IllegalArgumentException("롤업 단계는 해상도가 가는 것부터 거친 것 순서여야 합니다: "
+                        + Arrays.toString(tiers));
+            }
+        }
+        this.stationCount = stationCount;
+        this.clock = Objects.requireNonNull(clock, "clock must not be null");
+        this.tiers = tiers.clone();
+        this.rings = new Ring[tiers.length];
+        for (int i = 0; i < tiers.length; i++) {
+            rings[i] = new Ring(stationCount, tiers[i]);
+        }
+        this.versions = new AtomicLongArray(stationCount);
+    }
+
+    /**
+     * 1초 × 1시간, 1분 × 1주, 1시간 × 1년 (관측소당 약 1.7MB)
+     */
+    public static MeasurementRollup standard(int stationCount, LongSupplier clock) {
+        return new MeasurementRollup(stationCount, clock,
+                RollupTier.of(1_000L, 60 * 60),
+                RollupTier.of(60_000L, 7 * 24 * 60),
+                RollupTier.of(3_600_000L, 365 * 24));
+    }
+
+    // 단일 관측소 WeatherData에 붙일 옵저버
+    public WeatherObserver observerFor(int stationId) {
+        checkStation(stationId);
+        return weatherData -> update(stationId, weatherData.getTemperature(), weatherData.getHumidity(),
+                weatherData.getPressure(), weatherData.getWindSpeed());
+    }
+
+    // === 갱신 ===
+
+    @Override
+    public void update(int stationId, float temperature, float humidity, float pressure, float windSpeed) {
+        checkStation(stationId);
+        long now = clock.getAsLong();
+
+        long version = versions.get(stationId);
+        versions.setRelease(stationId, version + 1);
+        VarHandle.storeStoreFence(); // 버전(홀수)이 버킷 값보다 먼저 보이도록
+        for (Ring ring : rings) {
+            ring.record(stationId, now, temperature, humidity, pressure, windSpeed);
+        }
+        versions.setRelease(stationId, version + 2);
+    }
+
+    // === 조회 ===
+
+    /**
+     * [fromMillis, toMillis) 구간을 resolutionMillis 단위 버킷으로 조회한다.
+     * 버킷은 구간 경계가 속한 버킷까지 통째로 포함한다.
+     */
+    public RollupSeries query(int stationId, WeatherField field, long fromMillis, long toMillis, long resolutionMillis) {
+        checkStation(stationId);
+        Objects.requireNonNull(field, "field must not be null");
+        if (toMillis <= fromMillis || resolutionMillis <= 0) {
+            throw new IllegalArgumentException("조회 구간 또는 해상도가 올바르지 않습니다");
+        }
+        long now = clock.getAsLong();
+        int tier = selectTier(fromMillis, resolutionMillis, now);
+        Ring ring = rings[tier];
+        long step = Math.max(resolutionMillis, ring.resolution);
+        RollupSeries series = new RollupSeries(step, tiers[tier],
+                (int) Math.min(ring.slots, (toMillis - fromMillis) / step + 1));
+
+        for (int attempt = 0; ; attempt++) {
+            long before = versions.getAcquire(stationId);
+            if ((before & 1) == 0) {
+                series.clear();
+                ring.collect(stationId, field.ordinal(), fromMillis, toMillis, step, series);
+                VarHandle.loadLoadFence(); // 버킷을 다 읽은 뒤에 버전을 다시 확인
+                if (versions.get(stationId) == before) {
+                    return series;
+                }
+            }
+            if (attempt >= OPTIMISTIC_RETRIES) {
+                Thread.yield(); // 쓰기가 계속 몰리면 잠깐 양보
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * 요청 해상도보다 가늘거나 같은 단계 중, fromMillis를 아직 보관 중인 가장 거친 단계.
+     * 그런 단계가 없으면 (오래된 구간) fromMillis를 보관 중인 가장 가는 단계, 그것도 없으면 가장 거친 단계.
+     */
+    private int selectTier(long fromMillis, long resolutionMillis, long now) {
+        for (int i = tiers.length - 1; i >= 0; i--) {
+            if (rings[i].resolution <= resolutionMillis && rings[i].retains(fromMillis, now)) {
+                return i;
+            }
+        }
+        for (int i = 0; i < tiers.length; i++) {
+            if (rings[i].retains(fromMillis, now)) {
+                return i;
+            }
+        }
+        return tiers.length - 1;
+    }
+
+    public long getMemoryBytesPerStation() {
+        long bytes = 0;
+        for (Ring ring : rings) {
+            bytes += (long) ring.slots * Ring.BYTES_PER_SLOT;
+        }
+        return bytes;
+    }
+
+    public int getStationCount() {
+        return stationCount;
+    }
+
+    private void checkStation(int stationId) {
+        if (stationId < 0 || stationId >= stationCount) {
+            throw new IllegalArgumentException("존재하지 않는 관측소: " + stationId);
+        }
+    }
+
+    /**
+     * 단계 하나의 링 버퍼. 배열 인덱스 = 관측소 × slots + (버킷 번호 % slots)
+     * 버킷 번호가 다르면 지난 바퀴의 버킷이므로 쓸 때 비우고, 읽을 때 건너뛴다.
+     */
+    private static final class Ring {
+        static final int BYTES_PER_SLOT = Long.BYTES + Long.BYTES + FIELDS * (2 * Float.BYTES + Double.BYTES);
+
+        final long resolution;
+        final int slots;
+        final long[] bucketIds;
+        final long[] counts;
+        final float[] mins;     // [슬롯 × FIELDS + 필드]
+        final float[] maxs;
+        final double[] sums;
+
+        Ring(int stationCount, RollupTier tier) {
+            this.resolution = tier.getResolutionMillis();
+            this.slots = tier.getSlots();
+            int size = Math.multiplyExact(stationCount, slots);
+            this.bucketIds = new long[size];
+            Arrays.fill(bucketIds, Long.MIN_VALUE);
+            this.counts = new long[size];
+            this.mins = new float[Math.multiplyExact(size, FIELDS)];
+            this.maxs = new float[mins.length];
+            this.sums = new double[mins.length];
+        }
+
+        boolean retains(long fromMillis, long now) {
+            long oldestBucket = Math.floorDiv(now, resolution) - slots + 1;
+            return Math.floorDiv(fromMillis, resolution) >= oldestBucket;
+        }
+
+        void record(int stationId, long now, float temperature, float humidity, float pressure, float windSpeed) {
+            long bucket = Math.floorDiv(now, resolution);
+            int slot = stationId * slots + (int) Math.floorMod(bucket, (long) slots);
+            int at = slot * FIELDS;
+            if (bucketIds[slot] != bucket) {
+                // 한 바퀴 전의 버킷 자리 → 새 버킷으로 비운다
+                bucketIds[slot] = bucket;
+                counts[slot] = 0;
+                Arrays.fill(mins, at, at + FIELDS, Float.POSITIVE_INFINITY);
+                Arrays.fill(maxs, at, at + FIELDS, Float.NEGATIVE_INFINITY);
+                Arrays.fill(sums, at, at + FIELDS, 0);
+            }
+            counts[slot]++;
+            accumulate(at + WeatherField.TEMPERATURE.ordinal(), temperature);
+            accumulate(at + WeatherField.HUMIDITY.ordinal(), humidity);
+            accumulate(at + WeatherField.PRESSURE.ordinal(), pressure);
+            accumulate(at + WeatherField.WIND_SPEED.ordinal(), windSpeed);
+        }
+
+        private void accumulate(int at, float value) {
+            if (value < mins[at]) mins[at] = value;
+            if (value > maxs[at]) maxs[at] = value;
+            sums[at] += value;
+        }
+
+        void collect(int stationId, int field, long fromMillis, long toMillis, long step, RollupSeries series) {
+            long firstBucket = Math.floorDiv(fromMillis, resolution);
+            long lastBucket = Math.floorDiv(toMillis - 1, resolution);
+            // 보관 중인 버킷 수를 넘는 구간은 앞부분이 이미 덮어써졌으므로 뒤쪽 slots개만 본다
+            firstBucket = Math.max(firstBucket, lastBucket - slots + 1);
+            int base = stationId * slots;
+            for (long bucket = firstBucket; bucket <= lastBucket; bucket++) {
+                int slot = base + (int) Math.floorMod(bucket, (long) slots);
+                if (bucketIds[slot] != bucket || counts[slot] == 0) {
+                    continue;
+                }
+                int at = slot * FIELDS + field;
+                long bucketStart = Math.floorDiv(bucket * resolution, step) * step;
+                series.add(bucketStart, counts[slot], mins[at], maxs[at], sums[at]);
+            }
+        }
+    }
+}
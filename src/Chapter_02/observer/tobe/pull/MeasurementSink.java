@@ -0,0 +1,35 @@
+package Chapter_02.observer.tobe.pull;
+
+import java.util.Objects;
+
+/**
+ * 수집한 측정값 묶음을 받는 곳
+ * 단일 관측소 WeatherData나 다수 관측소 허브에 연결하는 어댑터를 제공한다.
+ */
+@FunctionalInterface
+public interface MeasurementSink {
+
+    void accept(MeasurementBatch batch);
+
+    // 관측소 구분 없이 WeatherData 하나에 순서대로 반영 (측정값마다 옵저버 알림)
+    static MeasurementSink of(WeatherData weatherData) {
+        Objects.requireNonNull(weatherData, "weatherData must not be null");
+        return batch -> {
+            for (int i = 0; i < batch.size(); i++) {
+                weatherData.setMeasurements(batch.temperatureAt(i), batch.humidityAt(i),
+                        batch.pressureAt(i), batch.windSpeedAt(i));
+            }
+        };
+    }
+
+    // 관측소 ID별로 허브 레인에 분배
+    static MeasurementSink of(WeatherStationHub hub) {
+        Objects.requireNonNull(hub, "hub must not be null");
+        return batch -> {
+            for (int i = 0; i < batch.size(); i++) {
+                hub.setMeasurements(batch.stationIdAt(i), batch.temperatureAt(i), batch.humidityAt(i),
+                        batch.pressureAt(i), batch.windSpeedAt(i));
+            }
+        };
+    }
+}
@@ -0,0 +1,231 @@
+package Chapter_02.observer.tobe.pull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * 측정값 시계열 저장소 (메모리 매핑 컬럼 파일)
+ * <p>
+ * WeatherData는 마지막 측정값만 들고 있으므로, 이력이 필요한 디스플레이는 이 저장소를
+ * 옵저버로 붙여 두고 조회한다. 필드마다 파일 하나씩, 기본형 배열처럼 이어 붙여 저장한다.
+ * <pre>
+ * dir/timestamp.i64   long  (epoch millis, 오름차순)
+ * dir/temperature.f32 float
+ * dir/humidity.f32    float
+ * dir/pressure.f32    float
+ * dir/windSpeed.f32   float
+ * dir/meta            long capacity, long count
+ * </pre>
+ * 데이터는 힙이 아니라 OS 페이지 캐시에 있으므로 몇 달치를 쌓아도 GC 부담이 없고,
+ * 프로세스를 다시 띄우면 meta의 count부터 이어서 쓴다.
+ * <p>
+ * 옵저버로 받은 측정값은 저장소가 가득 찼거나 시계가 뒤로 갔으면 버리고 개수만 센다.
+ * (예외를 던지면 알림 루프에서 뒤쪽 옵저버까지 알림을 못 받는다) 직접 append()하면 예외가 난다.
+ * <p>
+ * 쓰기(append)는 한 스레드에서만, 조회는 여러 스레드에서 동시에 해도 된다.
+ * 한 컬럼 파일은 2GB 이내여야 하므로 capacity는 최대 약 2억 6천만 건이다.
+ */
+public class MeasurementStore implements WeatherObserver, Closeable {
+
+    private static final long MAX_CAPACITY = Integer.MAX_VALUE / Long.BYTES;
+
+    private final FileChannel[] channels = new FileChannel[6];
+    private final MappedByteBuffer timestamps;
+    private final MappedByteBuffer temperatures;
+    private final MappedByteBuffer humidities;
+    private final MappedByteBuffer pressures;
+    private final MappedByteBuffer windSpeeds;
+    private final MappedByteBuffer meta;
+    private final int capacity;
+    private final LongSupplier clock;
+
+    private volatile int count;
+    private volatile long droppedCount;
+
+    public MeasurementStore(Path directory, int capacity) throws IOException {
+        this(directory, capacity, System::currentTimeMillis);
+    }
+
+    public MeasurementStore(Path directory, int capacity, LongSupplier clock) throws IOException {
+        Objects.requireNonNull(directory, "directory must not be null");
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity는 1 ~ " + MAX_CAPACITY + " 사이여야 합니다: " + capacity);
+        }
+        this.clock = Objects.requireNonNull(clock, "clock must not be null");
+        Files.createDirectories(directory);
+        this.capacity = capacity;
+
+        // 중간에 실패하면 이미 연 채널을 닫고 예외를 그대로 던진다
+        try {
+            this.meta = map(0, directory.resolve("meta"), 2 * Long.BYTES);
+            long storedCapacity = meta.getLong(0);
+            if (storedCapacity != 0 && storedCapacity != capacity) {
+                throw new IOException("기존 저장소의 capacity(" + storedCapacity + ")와 다릅니다: " + capacity);
+            }
+            meta.putLong(0, capacity);
+
+            this.timestamps = map(1, directory.resolve("timestamp.i64"), (long) capacity * Long.BYTES);
+            this.temperatures = map(2, directory.resolve("temperature.f32"), (long) capacity * Float.BYTES);
+            this.humidities = map(3, directory.resolve("humidity.f32"), (long) capacity * Float.BYTES);
+            this.pressures = map(4, directory.resolve("pressure.f32"), (long) capacity * Float.BYTES);
+            this.windSpeeds = map(5, directory.resolve("windSpeed.f32"), (long) capacity * Float.BYTES);
+            this.count = (int) meta.getLong(Long.BYTES);
+        } catch (IOException | RuntimeException e) {
+            try {
+                close();
+            } catch (IOException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw e;
+        }
+    }
+
+    private MappedByteBuffer map(int slot, Path file, long size) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channels[slot] = channel;
+        return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    /**
+     * WeatherData에 옵저버로 등록하면 setMeasurements()마다 한 건씩 쌓인다.
+     */
+    @Override
+    public void update(WeatherData weatherData) {
+        long timestamp = clock.getAsLong();
+        int index = count;
+        if (index == capacity || (index > 0 && timestamp < timestamps.getLong((index - 1) * Long.BYTES))) {
+            droppedCount++; // 쓰기 스레드는 하나뿐이므로 경쟁 없음
+            return;
+        }
+        append(timestamp, weatherData.getTemperature(), weatherData.getHumidity(),
+                weatherData.getPressure(), weatherData.getWindSpeed());
+    }
+
+    public void append(long timestamp, float temperature, float humidity, float pressure, float windSpeed) {
+        int index = count;
+        if (index == capacity) {
+            throw new IllegalStateException("저장소가 가득 찼습니다: " + capacity);
+        }
+        if (index > 0 && timestamp < timestamps.getLong((index - 1) * Long.BYTES)) {
+            throw new IllegalArgumentException("timestamp는 줄어들 수 없습니다: " + timestamp);
+        }
+        timestamps.putLong(index * Long.BYTES, timestamp);
+        temperatures.putFloat(index * Float.BYTES, temperature);
+        humidities.putFloat(index * Float.BYTES, humidity);
+        pressures.putFloat(index * Float.BYTES, pressure);
+        windSpeeds.putFloat(index * Float.BYTES, windSpeed);
+
+        // 값을 다 쓴 뒤에 개수를 올린다 → 읽는 쪽은 반쯤 쓰인 레코드를 보지 않는다
+        meta.putLong(Long.BYTES, index + 1);
+        count = index + 1;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    // 옵저버로 받았지만 저장하지 못한 측정값 수 (가득 참, 시계 역행)
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    // timestamp 이상인 첫 레코드 위치 (이진 탐색)
+    public int indexOf(long timestamp) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps.getLong(mid * Long.BYTES) < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * [fromTimestamp, toTimestamp) 구간을 순서대로 훑는다. 레코드마다 객체를 만들지 않는다.
+     */
+    public void scan(long fromTimestamp, long toTimestamp, MeasurementVisitor visitor) {
+        int end = indexOf(toTimestamp);
+        for (int i = indexOf(fromTimestamp); i < end; i++) {
+            visitor.visit(timestamps.getLong(i * Long.BYTES),
+                    temperatures.getFloat(i * Float.BYTES),
+                    humidities.getFloat(i * Float.BYTES),
+                    pressures.getFloat(i * Float.BYTES),
+                    windSpeeds.getFloat(i * Float.BYTES));
+        }
+    }
+
+    // === 컬럼 뷰: 매핑된 메모리를 그대로 가리키는 읽기 전용 버퍼 (복사 없음) ===
+
+    public LongBuffer timestampColumn(int fromIndex, int toIndex) {
+        return slice(timestamps, fromIndex, toIndex, Long.BYTES).asLongBuffer();
+    }
+
+    public FloatBuffer temperatureColumn(int fromIndex, int toIndex) {
+        return slice(temperatures, fromIndex, toIndex, Float.BYTES).asFloatBuffer();
+    }
+
+    public FloatBuffer humidityColumn(int fromIndex, int toIndex) {
+        return slice(humidities, fromIndex, toIndex, Float.BYTES).asFloatBuffer();
+    }
+
+    public FloatBuffer pressureColumn(int fromIndex, int toIndex) {
+        return slice(pressures, fromIndex, toIndex, Float.BYTES).asFloatBuffer();
+    }
+
+    public FloatBuffer windSpeedColumn(int fromIndex, int toIndex) {
+        return slice(windSpeeds, fromIndex, toIndex, Float.BYTES).asFloatBuffer();
+    }
+
+    private ByteBuffer slice(MappedByteBuffer column, int fromIndex, int toIndex, int width) {
+        if (fromIndex < 0 || toIndex > count || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("범위가 올바르지 않습니다: " + fromIndex + " ~ " + toIndex + " (size " + count + ")");
+        }
+        return column.slice(fromIndex * width, (toIndex - fromIndex) * width).asReadOnlyBuffer();
+    }
+
+    // 디스크에 확실히 기록 (정전 대비)
+    public void force() {
+        timestamps.force();
+        temperatures.force();
+        humidities.force();
+        pressures.force();
+        windSpeeds.force();
+        meta.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (FileChannel channel : channels) {
+            if (channel == null) {
+                continue;
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
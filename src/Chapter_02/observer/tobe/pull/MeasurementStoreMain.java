@@ -0,0 +1,63 @@
+package Chapter_02.observer.tobe.pull;
+
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 측정값 저장소 데모: 한 달치(1초 간격)를 쌓고, 다시 열어서 구간 조회
+ */
+public class MeasurementStoreMain {
+
+    private static final int ONE_MONTH_AT_1HZ = 30 * 24 * 60 * 60;
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("weather-store");
+        long[] now = {1_700_000_000_000L};
+
+        // 1. WeatherData에 옵저버로 붙여서 기록
+        try (MeasurementStore store = new MeasurementStore(directory, ONE_MONTH_AT_1HZ, () -> now[0])) {
+            WeatherData weatherData = new WeatherData();
+            weatherData.subscribe(store);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < ONE_MONTH_AT_1HZ; i++) {
+                now[0] += 1_000;
+                weatherData.setMeasurements(15.0f + (i % 600) / 60.0f, 60.0f, 1013.0f, (i % 20) / 2.0f);
+            }
+            System.out.println(store.size() + "건 기록: " + (System.nanoTime() - start) / 1_000_000 + "ms");
+            store.force();
+        }
+
+        // 2. 재시작 후 다시 열기 → 이어서 조회 가능
+        try (MeasurementStore store = new MeasurementStore(directory, ONE_MONTH_AT_1HZ)) {
+            System.out.println("다시 연 저장소: " + store.size() + "건");
+
+            long dayStart = 1_700_000_000_000L + 24 * 60 * 60 * 1_000L;
+            long dayEnd = dayStart + 24 * 60 * 60 * 1_000L;
+            double[] sum = {0};
+            int[] count = {0};
+            store.scan(dayStart, dayEnd, (timestamp, t, h, p, w) -> {
+                sum[0] += t;
+                count[0]++;
+            });
+            System.out.printf("둘째 날 평균 온도: %.2f°C (%d건)%n", sum[0] / count[0], count[0]);
+
+            // 컬럼 뷰: 복사 없이 온도 컬럼만 훑기
+            FloatBuffer temperatures = store.temperatureColumn(store.indexOf(dayStart), store.indexOf(dayEnd));
+            float max = Float.NEGATIVE_INFINITY;
+            while (temperatures.hasRemaining()) {
+                max = Math.max(max, temperatures.get());
+            }
+            System.out.println("둘째 날 최고 온도: " + max + "°C");
+        } finally {
+            try (var files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+}
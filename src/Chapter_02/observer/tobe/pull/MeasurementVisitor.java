@@ -0,0 +1,10 @@
+package Chapter_02.observer.tobe.pull;
+
+/**
+ * 저장된 측정값을 하나씩 받는 콜백 (레코드마다 객체를 만들지 않기 위함)
+ */
+@FunctionalInterface
+public interface MeasurementVisitor {
+
+    void visit(long timestamp, float temperature, float humidity, float pressure, float windSpeed);
+}
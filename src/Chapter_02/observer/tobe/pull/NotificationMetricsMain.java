@@ -0,0 +1,84 @@
+package Chapter_02.observer.tobe.pull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 알림 메트릭 데모: 어느 옵저버가 notifyObservers()를 느리게 만드는지 찾는다.
+ */
+public class NotificationMetricsMain {
+
+    private static final int MEASUREMENTS = 10_000;
+
+    public static void main(String[] args) {
+        WeatherData weatherData = new WeatherData();
+        weatherData.subscribe(new FastObserver());
+        weatherData.subscribe(new SlowObserver());
+        // 비동기 구독: "Async(SlowObserver)"로 보이고, 큐에 넣는 시간이 아니라 전달 스레드에서 잰 실행 시간이 기록된다
+        ExecutorService mailboxThread = Executors.newSingleThreadExecutor();
+        weatherData.subscribeAsync(new SlowObserver(), mailboxThread, 64, AsyncWeatherObserver.OverflowPolicy.DROP_OLDEST);
+        weatherData.subscribe(new FlakyObserver());
+        weatherData.setMetricsEnabled(true);
+
+        run(weatherData);
+        System.out.println("=== 순차 알림 ===");
+        System.out.print(weatherData.getMetrics());
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        weatherData.setParallelNotification(pool);
+        run(weatherData);
+        System.out.println("=== 순차 + 병렬 알림 누적 ===");
+        System.out.print(weatherData.getMetrics());
+        pool.shutdown();
+        mailboxThread.shutdown();
+    }
+
+    private static void run(WeatherData weatherData) {
+        for (int i = 0; i < MEASUREMENTS; i++) {
+            try {
+                weatherData.setMeasurements(20.0f + i % 10, 60.0f, 1013.0f, 3.0f);
+            } catch (IllegalStateException e) {
+                // FlakyObserver의 예외 (순차 알림에서는 호출한 쪽까지 올라온다)
+            }
+        }
+    }
+
+    private static final class FastObserver implements WeatherObserver {
+        private float last;
+
+        @Override
+        public void update(WeatherData weatherData) {
+            last = weatherData.getTemperature();
+        }
+    }
+
+    // 매번 큰 배열을 훑는 느린 옵저버
+    private static final class SlowObserver implements WeatherObserver {
+        private final double[] samples = new double[20_000];
+
+        @Override
+        public void update(WeatherData weatherData) {
+            double sum = 0;
+            for (int i = 0; i < samples.length; i++) {
+                samples[i] = samples[i] * 0.5 + weatherData.getTemperature();
+                sum += samples[i];
+            }
+            if (sum < 0) {
+                System.out.println(sum);
+            }
+        }
+    }
+
+    // 1000번에 한 번 예외를 던지는 옵저버 (맨 뒤에 등록해서 다른 옵저버 알림은 막지 않음)
+    private static final class FlakyObserver implements WeatherObserver {
+        private int calls;
+
+        @Override
+        public void update(WeatherData weatherData) {
+            if (++calls % 1_000 == 0) {
+                throw new IllegalStateException("센서 값 검증 실패");
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package Chapter_02.observer.tobe.pull;
+
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 병렬 알림 데모
+ * 계산이 무거운 옵저버 4개 + 가끔 멈추는 옵저버 1개를 순차/병렬로 알려서 라운드 시간을 비교한다.
+ */
+public class ParallelNotificationMain {
+
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        WeatherData weatherData = new WeatherData();
+        for (int i = 0; i < 4; i++) {
+            weatherData.subscribe(new HeatIndexGrid(), WeatherInterest.EVERY_UPDATE, 0, null);
+        }
+        // 가장 먼저 알리되, 100ms 넘게 걸리면 기다리지 않는다
+        weatherData.subscribe(new StallingObserver(), WeatherInterest.EVERY_UPDATE, 10, Duration.ofMillis(100));
+
+        System.out.println("CPU 코어: " + Runtime.getRuntime().availableProcessors());
+        System.out.println("=== 순차 알림 ===");
+        runRounds(weatherData);
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        weatherData.setParallelNotification(pool);
+        System.out.println("=== 병렬 알림 ===");
+        runRounds(weatherData);
+        System.out.println("제한 시간 초과: " + weatherData.getTimedOutCount()
+                + ", 실행 중이라 건너뜀: " + weatherData.getSkippedCount()
+                + ", 실패: " + weatherData.getFailedCount());
+        pool.shutdownNow();
+    }
+
+    private static void runRounds(WeatherData weatherData) {
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            weatherData.setMeasurements(25.0f + round, 70.0f, 1010.0f, 3.0f);
+            System.out.println("라운드 " + round + ": " + (System.nanoTime() - start) / 1_000_000 + "ms");
+        }
+    }
+
+    // 지역 격자(500×500)마다 불쾌지수를 계산하는 무거운 옵저버
+    private static final class HeatIndexGrid implements WeatherObserver {
+        private static final int SIZE = 500;
+        private final float[] grid = new float[SIZE * SIZE];
+
+        @Override
+        public void update(WeatherData weatherData) {
+            float temperature = weatherData.getTemperature();
+            float humidity = weatherData.getHumidity();
+            for (int i = 0; i < grid.length; i++) {
+                float t = temperature + (i % SIZE) * 0.001f;
+                float rh = humidity - (i / SIZE) * 0.01f;
+                grid[i] = (float) (0.72 * (t + (0.99 * t * rh / 100)) + 40.6 + Math.sin(i) * 0.01);
+            }
+        }
+    }
+
+    // 세 번째 알림에서 1초 동안 멈추는 옵저버 (외부 API 장애 흉내)
+    private static final class StallingObserver implements WeatherObserver {
+        private int calls;
+
+        @Override
+        public void update(WeatherData weatherData) {
+            if (++calls == 3 + ROUNDS) {
+                try {
+                    Thread.sleep(1_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
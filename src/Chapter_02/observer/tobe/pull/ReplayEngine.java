@@ -0,0 +1,110 @@
+package Chapter_02.observer.tobe.pull;
+
+import Chapter_02.observer.tobe.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 기록된 측정값으로 옵저버를 돌려 보는 재생(백테스트) 엔진
+ * <p>
+ * MeasurementStore에 쌓인 측정값을 순서대로 재생용 WeatherData에 넣고,
+ * 등록된 옵저버의 update()를 하나씩 직접 호출하며 걸린 시간을 잰다.
+ * 옵저버 입장에서는 실제 WeatherData에서 Pull하는 것과 똑같다.
+ * <p>
+ * - speed = MAX_SPEED: 기다리지 않고 CPU가 허락하는 만큼 빠르게
+ * - speed = 60.0: 기록된 1분을 1초에 (측정값 사이 간격을 1/60로 줄여서 기다림)
+ * 재생 중 시각은 getClock()의 가상 시계로 알 수 있다.
+ * 옵저버가 예외를 던져도 재생은 멈추지 않는다. 옵저버별 실패 횟수와 첫 예외를 결과에 남긴다.
+ */
+public class ReplayEngine {
+
+    public static final double MAX_SPEED = Double.POSITIVE_INFINITY;
+
+    private final MeasurementStore recording;
+    private final VirtualClock clock = new VirtualClock();
+    private final WeatherData replica = new WeatherData();   // 구독자 없이 값만 담는 용도
+    private final List<String> names = new ArrayList<>();
+    private final List<WeatherObserver> observers = new ArrayList<>();
+
+    public ReplayEngine(MeasurementStore recording) {
+        this.recording = Objects.requireNonNull(recording, "recording must not be null");
+    }
+
+    public VirtualClock getClock() {
+        return clock;
+    }
+
+    public void addObserver(WeatherObserver observer) {
+        addObserver(observer.getClass().getSimpleName(), observer);
+    }
+
+    public void addObserver(String name, WeatherObserver observer) {
+        names.add(Objects.requireNonNull(name, "name must not be null"));
+        observers.add(Objects.requireNonNull(observer, "observer must not be null"));
+    }
+
+    public ReplayReport replay(double speed) {
+        return replay(Long.MIN_VALUE, Long.MAX_VALUE, speed);
+    }
+
+    /**
+     * [fromTimestamp, toTimestamp) 구간을 재생한다. 호출한 스레드에서 끝까지 돈다.
+     */
+    public ReplayReport replay(long fromTimestamp, long toTimestamp, double speed) {
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("speed는 0보다 커야 합니다: " + speed);
+        }
+        WeatherObserver[] targets = observers.toArray(new WeatherObserver[0]);
+        LatencyHistogram[] latencies = new LatencyHistogram[targets.length];
+        long[] failures = new long[targets.length];
+        RuntimeException[] firstFailures = new RuntimeException[targets.length];
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+        boolean paced = speed != MAX_SPEED;
+        long[] state = {0, Long.MIN_VALUE, 0}; // 건수, 첫 시각, 마지막 시각
+
+        long wallStart = System.nanoTime();
+        recording.scan(fromTimestamp, toTimestamp, (timestamp, temperature, humidity, pressure, windSpeed) -> {
+            if (state[1] == Long.MIN_VALUE) {
+                state[1] = timestamp;
+            }
+            if (paced) {
+                // 기록상 경과 시간을 speed로 나눈 시점까지 기다린다 (늦었으면 바로 진행)
+                long due = wallStart + (long) ((timestamp - state[1]) * 1_000_000.0 / speed);
+                long wait;
+                while ((wait = due - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+            clock.set(timestamp);
+            replica.setMeasurements(temperature, humidity, pressure, windSpeed);
+            for (int i = 0; i < targets.length; i++) {
+                long start = System.nanoTime();
+                try {
+                    targets[i].update(replica);
+                } catch (RuntimeException e) {
+                    // 한 옵저버의 실패가 다른 옵저버의 재생을 막지 않게 세기만 하고 계속한다
+                    if (failures[i]++ == 0) {
+                        firstFailures[i] = e;
+                    }
+                } finally {
+                    latencies[i].record(System.nanoTime() - start);
+                }
+            }
+            state[0]++;
+            state[2] = timestamp;
+        });
+        long wallNanos = System.nanoTime() - wallStart;
+
+        List<ReplayReport.ObserverReport> reports = new ArrayList<>(targets.length);
+        for (int i = 0; i < targets.length; i++) {
+            reports.add(new ReplayReport.ObserverReport(names.get(i), latencies[i], failures[i], firstFailures[i]));
+        }
+        long virtualMillis = state[0] == 0 ? 0 : state[2] - state[1];
+        return new ReplayReport(state[0], wallNanos, virtualMillis, reports);
+    }
+}
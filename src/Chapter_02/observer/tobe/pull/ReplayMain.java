@@ -0,0 +1,72 @@
+package Chapter_02.observer.tobe.pull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 재생 엔진 데모: 1년치(1분 간격) 기록으로 새 디스플레이들을 미리 돌려 본다.
+ */
+public class ReplayMain {
+
+    private static final long START = 1_700_000_000_000L;
+    private static final long MINUTE = 60_000L;
+    private static final int ONE_YEAR_AT_1_PER_MINUTE = 365 * 24 * 60;
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("weather-replay");
+        try (MeasurementStore recording = new MeasurementStore(directory, ONE_YEAR_AT_1_PER_MINUTE)) {
+            for (int i = 0; i < ONE_YEAR_AT_1_PER_MINUTE; i++) {
+                double day = i / (24.0 * 60);
+                float temperature = (float) (12 - 12 * Math.cos(2 * Math.PI * day / 365) + 5 * Math.sin(2 * Math.PI * day));
+                recording.append(START + i * MINUTE, temperature, 40 + i % 50, 1000 + (i / 90) % 30, (i % 20) / 2.0f);
+            }
+
+            // 1. 최대 속도 백테스트: 1년을 몇 초 만에
+            ReplayEngine engine = new ReplayEngine(recording);
+            StatisticsDisplay daily = new StatisticsDisplay(
+                    WindowedStatistics.ofTime(24 * 60 * MINUTE, 24, engine.getClock(), -50, 60, 220));
+            engine.addObserver(new HeatIndexDisplay());
+            engine.addObserver(new ForecastDisplay());
+            engine.addObserver("StatisticsDisplay(24시간)", daily);
+            engine.addObserver("Noop", weatherData -> { });
+            // 영하에서 예외를 던지는 옵저버: 재생은 계속되고 결과에 실패 횟수가 남는다
+            engine.addObserver("FrostGuard", weatherData -> {
+                if (weatherData.getTemperature() < 0) {
+                    throw new IllegalStateException("영하 측정값: " + weatherData.getTemperature());
+                }
+            });
+
+            // 디스플레이들의 화면 출력은 백테스트 동안 버린다
+            PrintStream console = System.out;
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            ReplayReport report;
+            try {
+                report = engine.replay(ReplayEngine.MAX_SPEED);
+            } finally {
+                System.setOut(console);
+            }
+            System.out.println("=== 최대 속도 재생 ===");
+            System.out.print(report);
+            StatisticsSnapshot lastDay = daily.getStatistics();
+            System.out.printf("마지막 24시간: 평균 %.1f°C, 최저 %.1f°C, 최고 %.1f°C (%d건)%n",
+                    lastDay.getMean(), lastDay.getMin(), lastDay.getMax(), lastDay.getCount());
+
+            // 2. 배속 재생: 마지막 10분을 600배속(약 1초)으로
+            ReplayEngine paced = new ReplayEngine(recording);
+            paced.addObserver("Noop", weatherData -> { });
+            long to = START + ONE_YEAR_AT_1_PER_MINUTE * MINUTE;
+            System.out.println("\n=== 600배속 재생 (마지막 10분) ===");
+            System.out.print(paced.replay(to - 10 * MINUTE, to, 600));
+        } finally {
+            try (var files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+}
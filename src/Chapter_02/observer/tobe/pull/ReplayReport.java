@@ -0,0 +1,109 @@
+package Chapter_02.observer.tobe.pull;
+
+import Chapter_02.observer.tobe.LatencyHistogram;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 재생 결과: 전체 재생 속도와 옵저버별 처리량/지연 분포
+ */
+public final class ReplayReport {
+
+    private final long records;
+    private final long wallNanos;
+    private final long virtualMillis;
+    private final List<ObserverReport> observers;
+
+    ReplayReport(long records, long wallNanos, long virtualMillis, List<ObserverReport> observers) {
+        this.records = records;
+        this.wallNanos = wallNanos;
+        this.virtualMillis = virtualMillis;
+        this.observers = Collections.unmodifiableList(observers);
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    public long getVirtualMillis() {
+        return virtualMillis;
+    }
+
+    // 실제 시간 대비 몇 배 빨리 재생했는지
+    public double getSpeedup() {
+        return wallNanos == 0 ? 0 : virtualMillis * 1_000_000.0 / wallNanos;
+    }
+
+    public List<ObserverReport> getObservers() {
+        return observers;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(String.format("측정값 %,d건, 기록 기간 %,d초 → 재생 %,dms (%,.0f배속)%n",
+                records, virtualMillis / 1_000, wallNanos / 1_000_000, getSpeedup()));
+        for (ObserverReport observer : observers) {
+            sb.append("  ").append(observer).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 옵저버 하나의 결과
+     */
+    public static final class ObserverReport {
+
+        private final String name;
+        private final LatencyHistogram latencies;
+        private final long failures;
+        private final RuntimeException firstFailure;   // 없으면 null
+
+        ObserverReport(String name, LatencyHistogram latencies, long failures, RuntimeException firstFailure) {
+            this.name = name;
+            this.latencies = latencies;
+            this.failures = failures;
+            this.firstFailure = firstFailure;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getUpdates() {
+            return latencies.getCount();
+        }
+
+        // update()가 예외를 던진 횟수 (getUpdates()에 포함)
+        public long getFailures() {
+            return failures;
+        }
+
+        public RuntimeException getFirstFailure() {
+            return firstFailure;
+        }
+
+        public LatencyHistogram getLatencies() {
+            return latencies;
+        }
+
+        // update()에 쓴 시간만으로 계산한 초당 처리 가능 건수
+        public double getUpdatesPerSecond() {
+            long total = latencies.getTotalNanos();
+            return total == 0 ? 0 : latencies.getCount() * 1e9 / total;
+        }
+
+        @Override
+        public String toString() {
+            String summary = String.format("%s: %,d건, %,.0f건/초, 지연 p50 %,dns / p99 %,dns / p99.9 %,dns / 최대 %,dns",
+                    name, getUpdates(), getUpdatesPerSecond(),
+                    latencies.getPercentileNanos(50), latencies.getPercentileNanos(99),
+                    latencies.getPercentileNanos(99.9), latencies.getMaxNanos());
+            return failures == 0 ? summary : summary + String.format(", 실패 %,d건 (첫 예외: %s)", failures, firstFailure);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package Chapter_02.observer.tobe.pull;
+
+/**
+ * 링 버퍼 이벤트 버스 처리량 측정
+ * 센서 스레드 하나가 발행하고, 소비자 두 개가 각자 스레드에서 묶음으로 소비한다.
+ */
+public class RingBufferMain {
+
+    private static final int EVENTS = 50_000_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        MeasurementRingBuffer ringBuffer = new MeasurementRingBuffer(1 << 16);
+
+        // 소비자 1: 최고 온도 추적
+        float[] maxTemperature = {Float.NEGATIVE_INFINITY};
+        MeasurementRingBuffer.Consumer maxTracker = ringBuffer.addConsumer(
+                (t, h, p, w, sequence, endOfBatch) -> maxTemperature[0] = Math.max(maxTemperature[0], t));
+        // 소비자 2: 풍속 합계
+        double[] windSum = {0};
+        MeasurementRingBuffer.Consumer windSummer = ringBuffer.addConsumer(
+                (t, h, p, w, sequence, endOfBatch) -> windSum[0] += w);
+
+        Thread first = new Thread(maxTracker, "max-tracker");
+        Thread second = new Thread(windSummer, "wind-summer");
+        first.start();
+        second.start();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < EVENTS; i++) {
+            ringBuffer.publish(20.0f + (i & 15), 60.0f, 1013.0f, i & 7);
+        }
+        long last = EVENTS - 1;
+        while (maxTracker.getSequence() < last || windSummer.getSequence() < last) {
+            Thread.onSpinWait();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        maxTracker.halt();
+        windSummer.halt();
+        first.join();
+        second.join();
+
+        System.out.printf("측정값 %,d건: %dms (%.1f M건/초)%n", EVENTS, elapsed / 1_000_000, EVENTS * 1_000.0 / elapsed);
+        System.out.printf("평균 배치 크기: %.1f / %.1f%n",
+                (double) EVENTS / maxTracker.getBatchCount(), (double) EVENTS / windSummer.getBatchCount());
+        System.out.println("최고 온도: " + maxTemperature[0] + ", 풍속 합: " + windSum[0]);
+
+        // 기존 디스플레이도 배치 소비자로 붙일 수 있다
+        MeasurementRingBuffer small = new MeasurementRingBuffer(8);
+        StatisticsDisplay statisticsDisplay = new StatisticsDisplay();
+        MeasurementRingBuffer.Consumer statistics = small.addConsumer(statisticsDisplay);
+        for (int i = 0; i < 5; i++) {
+            small.publish(25.0f + i, 65.0f, 1013.0f, 3.0f);
+        }
+        Thread statisticsThread = new Thread(statistics, "statistics");
+        statisticsThread.start();
+        while (statistics.getSequence() < 4) {
+            Thread.onSpinWait();
+        }
+        statistics.halt();
+        statisticsThread.join();
+    }
+}
@@ -0,0 +1,53 @@
+package Chapter_02.observer.tobe.pull;
+
+/**
+ * 다중 해상도 롤업 데모: 일주일치(1초 간격)를 쌓고 대시보드처럼 여러 해상도로 조회한다.
+ */
+public class RollupMain {
+
+    private static final long SECOND = 1_000L;
+    private static final long MINUTE = 60 * SECOND;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long DAY = 24 * HOUR;
+    private static final int ONE_WEEK_AT_1HZ = 7 * 24 * 60 * 60;
+
+    public static void main(String[] args) {
+        long start = 1_700_000_000_000L - 1_700_000_000_000L % DAY; // 자정부터
+        long[] now = {start};
+        MeasurementRollup rollup = MeasurementRollup.standard(1, () -> now[0]);
+
+        WeatherData weatherData = new WeatherData();
+        weatherData.subscribe(rollup.observerFor(0));
+
+        long begin = System.nanoTime();
+        for (int i = 0; i < ONE_WEEK_AT_1HZ; i++) {
+            now[0] = start + i * SECOND;
+            // 하루 주기로 10~20°C를 오가는 기온
+            float temperature = (float) (15 - 5 * Math.cos(2 * Math.PI * (i % 86_400) / 86_400.0));
+            weatherData.setMeasurements(temperature, 60.0f, 1013.0f, (i % 20) / 2.0f);
+        }
+        System.out.printf("%,d건 롤업: %dms, 관측소당 메모리 %,d바이트%n",
+                ONE_WEEK_AT_1HZ, (System.nanoTime() - begin) / 1_000_000, rollup.getMemoryBytesPerStation());
+
+        long end = now[0] + SECOND; // 마지막 측정값이 든 버킷까지
+        print("일주일을 1분 단위로", rollup, start, end, MINUTE);
+        print("마지막 10분을 1초 단위로", rollup, end - 10 * MINUTE, end, SECOND);
+        print("마지막 10분을 10초 단위로 (1초 버킷을 묶음)", rollup, end - 10 * MINUTE, end, 10 * SECOND);
+        print("일주일을 하루 단위로", rollup, start, end, DAY);
+
+        RollupSeries daily = rollup.query(0, WeatherField.TEMPERATURE, start, end, DAY);
+        for (int i = 0; i < daily.size(); i++) {
+            System.out.printf("  %d일째: 평균 %.2f°C, 최저 %.2f°C, 최고 %.2f°C (%,d건)%n",
+                    i + 1, daily.meanAt(i), daily.minAt(i), daily.maxAt(i), daily.countAt(i));
+        }
+    }
+
+    private static void print(String title, MeasurementRollup rollup, long from, long to, long resolution) {
+        long begin = System.nanoTime();
+        RollupSeries series = rollup.query(0, WeatherField.TEMPERATURE, from, to, resolution);
+        long micros = (System.nanoTime() - begin) / 1_000;
+        System.out.printf("[%s] 단계 %s → 버킷 %,d개, %,d건, 평균 %.2f°C, 최저 %.2f°C, 최고 %.2f°C (%,dµs)%n",
+                title, series.getSource(), series.size(), series.getTotalCount(),
+                series.getMean(), series.getMin(), series.getMax(), micros);
+    }
+}
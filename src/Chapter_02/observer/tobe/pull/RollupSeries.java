@@ -0,0 +1,137 @@
+package Chapter_02.observer.tobe.pull;
+
+import java.util.Arrays;
+
+/**
+ * 롤업 조회 결과: 버킷별 개수/최소/최대/평균 (측정값이 없는 버킷은 빠짐)
+ */
+public final class RollupSeries {
+
+    private final long resolutionMillis;
+    private final RollupTier source;
+    private long[] bucketStarts;
+    private long[] counts;
+    private float[] mins;
+    private float[] maxs;
+    private double[] sums;
+    private int size;
+
+    RollupSeries(long resolutionMillis, RollupTier source, int expectedBuckets) {
+        this.resolutionMillis = resolutionMillis;
+        this.source = source;
+        int capacity = Math.max(1, expectedBuckets);
+        this.bucketStarts = new long[capacity];
+        this.counts = new long[capacity];
+        this.mins = new float[capacity];
+        this.maxs = new float[capacity];
+        this.sums = new double[capacity];
+    }
+
+    // 같은 버킷이면 합치고, 새 버킷이면 뒤에 붙인다 (bucketStart는 오름차순으로 들어옴)
+    void add(long bucketStart, long count, float min, float max, double sum) {
+        if (size > 0 && bucketStarts[size - 1] == bucketStart) {
+            int last = size - 1;
+            counts[last] += count;
+            mins[last] = Math.min(mins[last], min);
+            maxs[last] = Math.max(maxs[last], max);
+            sums[last] += sum;
+            return;
+        }
+        if (size == bucketStarts.length) {
+            int capacity = size * 2;
+            bucketStarts = Arrays.copyOf(bucketStarts, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+            mins = Arrays.copyOf(mins, capacity);
+            maxs = Arrays.copyOf(maxs, capacity);
+            sums = Arrays.copyOf(sums, capacity);
+        }
+        bucketStarts[size] = bucketStart;
+        counts[size] = count;
+        mins[size] = min;
+        maxs[size] = max;
+        sums[size] = sum;
+        size++;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    // 결과 버킷 크기 (요청한 해상도보다 원본 단계가 더 거칠면 원본 단계의 해상도)
+    public long getResolutionMillis() {
+        return resolutionMillis;
+    }
+
+    // 이 결과를 읽어 온 롤업 단계
+    public RollupTier getSource() {
+        return source;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long bucketStartAt(int index) {
+        return bucketStarts[checkIndex(index)];
+    }
+
+    public long countAt(int index) {
+        return counts[checkIndex(index)];
+    }
+
+    public float minAt(int index) {
+        return mins[checkIndex(index)];
+    }
+
+    public float maxAt(int index) {
+        return maxs[checkIndex(index)];
+    }
+
+    public double meanAt(int index) {
+        checkIndex(index);
+        return sums[index] / counts[index];
+    }
+
+    // === 전체 구간 요약 ===
+
+    public long getTotalCount() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += counts[i];
+        }
+        return total;
+    }
+
+    public double getMin() {
+        double min = Double.NaN;
+        for (int i = 0; i < size; i++) {
+            min = i == 0 ? mins[i] : Math.min(min, mins[i]);
+        }
+        return min;
+    }
+
+    public double getMax() {
+        double max = Double.NaN;
+        for (int i = 0; i < size; i++) {
+            max = i == 0 ? maxs[i] : Math.max(max, maxs[i]);
+        }
+        return max;
+    }
+
+    public double getMean() {
+        double sum = 0;
+        long count = 0;
+        for (int i = 0; i < size; i++) {
+            sum += sums[i];
+            count += counts[i];
+        }
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,41 @@
+package Chapter_02.observer.tobe.pull;
+
+/**
+ * 롤업 단계 하나: 해상도(버킷 크기)와 보관할 버킷 수
+ * 예) 1초 × 3600칸 = 최근 1시간을 1초 단위로
+ */
+public final class RollupTier {
+
+    private final long resolutionMillis;
+    private final int slots;
+
+    private RollupTier(long resolutionMillis, int slots) {
+        this.resolutionMillis = resolutionMillis;
+        this.slots = slots;
+    }
+
+    public static RollupTier of(long resolutionMillis, int slots) {
+        if (resolutionMillis <= 0 || slots <= 0) {
+            throw new IllegalArgumentException("해상도와 버킷 수는 0보다 커야 합니다: "
+                    + resolutionMillis + "ms × " + slots);
+        }
+        return new RollupTier(resolutionMillis, slots);
+    }
+
+    public long getResolutionMillis() {
+        return resolutionMillis;
+    }
+
+    public int getSlots() {
+        return slots;
+    }
+
+    public long getRetentionMillis() {
+        return resolutionMillis * slots;
+    }
+
+    @Override
+    public String toString() {
+        return resolutionMillis + "ms × " + slots;
+    }
+}
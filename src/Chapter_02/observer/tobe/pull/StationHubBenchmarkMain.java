@@ -0,0 +1,60 @@
+package Chapter_02.observer.tobe.pull;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 관측소 10만 개가 1초에 한 번씩 측정값을 보내는 상황을 흉내 낸다.
+ * 수집 스레드 여러 개가 최대 속도로 밀어 넣고, 허브가 초당 몇 건을 처리하는지 잰다.
+ * (실시간 요구량: 100,000건/초)
+ */
+public class StationHubBenchmarkMain {
+
+    private static final int STATIONS = 100_000;
+    private static final int SIMULATED_SECONDS = 20;
+    private static final int PRODUCERS = 4;
+    private static final String[] REGIONS = {"서울", "경기", "강원", "충청", "전라", "경상", "제주"};
+
+    public static void main(String[] args) throws InterruptedException {
+        int lanes = Math.max(1, Runtime.getRuntime().availableProcessors() - PRODUCERS);
+        WeatherStationHub hub = new WeatherStationHub(STATIONS, lanes, 8_192);
+        for (int station = 0; station < STATIONS; station++) {
+            hub.assignRegion(station, REGIONS[station % REGIONS.length]);
+        }
+
+        LongAdder everything = new LongAdder();
+        LongAdder jeju = new LongAdder();
+        LongAdder singleStation = new LongAdder();
+        hub.subscribeAll((id, t, h, p, w) -> everything.increment());
+        hub.subscribeRegion("제주", (id, t, h, p, w) -> jeju.increment());
+        hub.subscribeStation(42, (id, t, h, p, w) -> singleStation.increment());
+
+        long total = (long) STATIONS * SIMULATED_SECONDS;
+        CountDownLatch done = new CountDownLatch(PRODUCERS);
+        long start = System.nanoTime();
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            new Thread(() -> {
+                for (int second = 0; second < SIMULATED_SECONDS; second++) {
+                    // 관측소를 수집 스레드끼리 나눠 맡는다
+                    for (int station = producer; station < STATIONS; station += PRODUCERS) {
+                        hub.setMeasurements(station, 20.0f + second, 60.0f, 1013.0f, station % 15);
+                    }
+                }
+                done.countDown();
+            }, "producer-" + p).start();
+        }
+        done.await();
+        while (hub.getProcessedCount() < total) {
+            Thread.onSpinWait();
+        }
+        long elapsed = System.nanoTime() - start;
+        hub.close();
+
+        double perSecond = total * 1e9 / elapsed;
+        System.out.printf("레인 %d개, 측정값 %,d건: %dms%n", hub.getLaneCount(), total, elapsed / 1_000_000);
+        System.out.printf("처리량: %,.0f건/초 (10만 관측소 1Hz 대비 %.1f배 여유)%n", perSecond, perSecond / STATIONS);
+        System.out.println("전체 구독: " + everything.sum() + ", 제주 구독: " + jeju.sum() + ", 42번 관측소 구독: " + singleStation.sum());
+        System.out.println("42번 관측소 최신 온도: " + hub.getTemperature(42));
+    }
+}
@@ -0,0 +1,14 @@
+package Chapter_02.observer.tobe.pull;
+
+/**
+ * 허브에 연결된 관측소들의 측정값을 받는 옵저버
+ * <p>
+ * 관측소가 10만 개라면 WeatherData 객체를 10만 개 만들어 Pull하게 하는 대신,
+ * 어느 관측소의 값인지와 측정값을 함께 넘긴다.
+ * 지역/전체 구독을 하면 여러 레인 스레드에서 동시에 호출될 수 있으므로 스레드 안전해야 한다.
+ */
+@FunctionalInterface
+public interface StationObserver {
+
+    void update(int stationId, float temperature, float humidity, float pressure, float windSpeed);
+}
@@ -3,10 +3,26 @@ package Chapter_02.observer.tobe.pull;
 /**
  * 날씨 통계 디스플레이
  * Pull 방식: 온도만 가져옴
+ * <p>
+ * 전체 기간 평균 대신 최근 측정값 윈도우의 통계를 보여준다. (WindowedStatistics)
+ * <p>
+ * 링 버퍼 소비자로도 쓸 수 있다. 이때는 묶음으로 들어온 측정값을 모두 누적하고
+ * 묶음의 마지막에서 한 번만 화면을 갱신한다.
  */
-public class StatisticsDisplay implements WeatherObserver {
-    private float temperatureSum = 0;
-    private int count = 0;
+public class StatisticsDisplay implements WeatherObserver, MeasurementEventHandler {
+
+    private static final int DEFAULT_WINDOW = 1_000;
+
+    private final WindowedStatistics temperatures;
+
+    public StatisticsDisplay() {
+        // 최근 1000건, -50°C ~ 60°C를 0.5°C 구간으로 나눈 히스토그램
+        this(WindowedStatistics.ofCount(DEFAULT_WINDOW, 20, -50, 60, 220));
+    }
+
+    public StatisticsDisplay(WindowedStatistics temperatures) {
+        this.temperatures = temperatures;
+    }
 
     @Override
     public void update(WeatherData weatherData) {
@@ -14,12 +30,32 @@ public class StatisticsDisplay implements WeatherObserver {
         float temperature = weatherData.getTemperature();
         // humidity, pressure는 필요 없으니 안 가져옴
 
-        temperatureSum += temperature;
-        count++;
-        float avgTemperature = temperatureSum / count;
+        temperatures.record(temperature);
+        display();
+    }
+
+    @Override
+    public void onEvent(float temperature, float humidity, float pressure, float windSpeed,
+                        long sequence, boolean endOfBatch) {
+        temperatures.record(temperature);
+        if (endOfBatch) {
+            display();
+        }
+    }
+
+    private void display() {
+        StatisticsSnapshot snapshot = temperatures.snapshot();
 
         System.out.println("=== 날씨 통계 ===");
-        System.out.println("평균 온도: " + avgTemperature + "°C");
-        System.out.println("측정 횟수: " + count);
+        System.out.println("평균 온도: " + (float) snapshot.getMean() + "°C");
+        System.out.println("최저/최고: " + (float) snapshot.getMin() + "°C / " + (float) snapshot.getMax() + "°C");
+        System.out.printf("표준편차: %.2f, 95%% 백분위: %.1f°C%n",
+                snapshot.getStandardDeviation(), snapshot.getPercentile(95));
+        System.out.println("측정 횟수: " + snapshot.getCount());
+    }
+
+    // 대시보드 등 다른 스레드에서 조회
+    public StatisticsSnapshot getStatistics() {
+        return temperatures.snapshot();
     }
 }
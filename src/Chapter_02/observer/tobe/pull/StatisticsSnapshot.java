@@ -0,0 +1,85 @@
+package Chapter_02.observer.tobe.pull;
+
+/**
+ * 윈도우 통계 스냅샷 (불변)
+ * 백분위수는 고정 구간 히스토그램으로 근사하므로 구간 폭만큼의 오차가 있다.
+ */
+public final class StatisticsSnapshot {
+
+    private final long count;
+    private final double min;
+    private final double max;
+    private final double mean;
+    private final double variance;
+    private final long[] histogram;
+    private final double histogramMin;
+    private final double binWidth;
+
+    StatisticsSnapshot(long count, double min, double max, double mean, double variance,
+                       long[] histogram, double histogramMin, double binWidth) {
+        this.count = count;
+        this.min = min;
+        this.max = max;
+        this.mean = mean;
+        this.variance = variance;
+        this.histogram = histogram;
+        this.histogramMin = histogramMin;
+        this.binWidth = binWidth;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMin() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    public double getMax() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    public double getMean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    // 표본 분산 (n - 1로 나눔)
+    public double getVariance() {
+        return count < 2 ? 0.0 : variance;
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * 근사 백분위수 (0 ~ 100). 해당 구간 안에서는 선형 보간한다.
+     * 히스토그램 범위를 벗어난 값은 양 끝 구간에 들어가 있으므로 min/max로 잘라낸다.
+     */
+    public double getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile은 0 ~ 100 사이여야 합니다: " + percentile);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        double rank = percentile / 100.0 * count;
+        long seen = 0;
+        for (int bin = 0; bin < histogram.length; bin++) {
+            long inBin = histogram[bin];
+            if (inBin > 0 && seen + inBin >= rank) {
+                double fraction = (rank - seen) / inBin;
+                double value = histogramMin + (bin + fraction) * binWidth;
+                return Math.max(min, Math.min(max, value));
+            }
+            seen += inBin;
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d, min=%.2f, max=%.2f, mean=%.2f, std=%.2f, p50=%.2f, p95=%.2f",
+                count, getMin(), getMax(), getMean(), getStandardDeviation(), getPercentile(50), getPercentile(95));
+    }
+}
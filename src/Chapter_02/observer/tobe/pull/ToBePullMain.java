@@ -6,15 +6,21 @@ public class ToBePullMain {
 
         // Observer들 구독
         weatherData.subscribe(new CurrentConditionsDisplay());
-        weatherData.subscribe(new StatisticsDisplay());
-        weatherData.subscribe(new ForecastDisplay());
+        weatherData.subscribe(new StatisticsDisplay(), WeatherInterest.of(WeatherField.TEMPERATURE));
+        weatherData.subscribe(new ForecastDisplay(), WeatherInterest.of(WeatherField.PRESSURE));
         weatherData.subscribe(new HeatIndexDisplay());
-        weatherData.subscribe(new WindDisplay());
+        // 풍속이 1 m/s 이상 바뀔 때만 알림
+        weatherData.subscribe(new WindDisplay(), WeatherInterest.of(WeatherField.WIND_SPEED)
+                .deadband(WeatherField.WIND_SPEED, 1.0f));
 
         System.out.println("\n========== 첫 번째 측정 ==========\n");
         weatherData.setMeasurements(25.0f, 65.0f, 1013.25f, 4.5f);
 
         System.out.println("\n========== 두 번째 측정 ==========\n");
         weatherData.setMeasurements(30.0f, 80.0f, 1009.50f, 12.0f);
+
+        // 풍속만 조금 바뀜 → 통계/예보/바람 디스플레이는 깨어나지 않음
+        System.out.println("\n========== 세 번째 측정 (풍속 0.5 m/s 변화) ==========\n");
+        weatherData.setMeasurements(30.0f, 80.0f, 1009.50f, 12.5f);
     }
 }
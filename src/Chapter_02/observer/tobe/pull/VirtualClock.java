@@ -0,0 +1,25 @@
+package Chapter_02.observer.tobe.pull;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 재생 중인 측정값의 시각을 돌려주는 가상 시계 (밀리초)
+ * 시계를 주입받는 옵저버(MeasurementStore, WindowedStatistics.ofTime 등)에 넘기면
+ * 과거 데이터를 빠르게 재생해도 기록 당시의 시간 흐름대로 동작한다.
+ */
+public final class VirtualClock implements LongSupplier {
+
+    private volatile long now;
+
+    VirtualClock() {
+    }
+
+    void set(long timestamp) {
+        now = timestamp;
+    }
+
+    @Override
+    public long getAsLong() {
+        return now;
+    }
+}
@@ -1,8 +1,20 @@
 package Chapter_02.observer.tobe.pull;
 
+import Chapter_02.observer.tobe.LatencyHistogram;
+import Chapter_02.observer.tobe.NotificationMetrics;
+
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * TO-BE (Pull 방식): WeatherData
@@ -10,44 +22,265 @@ import java.util.Objects;
  * Push와의 차이:
  * - notifyObservers()에서 데이터를 전달하지 않고 자기 자신(this)을 전달
  * - Observer가 필요한 데이터를 getter로 가져갈 수 있도록 getter 제공
+ *
+ * 필드 선택 구독:
+ * - 옵저버가 관심 필드와 데드밴드를 선언하면(WeatherInterest), 측정마다 "바뀐 필드 마스크"를
+ *   한 번만 계산해서 관심 있는 옵저버에게만 알린다.
+ *
+ * 병렬 알림:
+ * - setParallelNotification(pool)을 켜면 옵저버들의 update()를 ForkJoinPool에 나눠 동시에 실행하고,
+ *   모두 끝나야(또는 옵저버별 제한 시간이 지나야) setMeasurements()가 돌아온다.
+ * - 우선순위가 높은 옵저버부터 알린다. (순차 모드에서도 같은 순서)
+ * - 제한 시간을 넘긴 옵저버는 기다리지 않고, 아직 실행 중이면 다음 알림은 건너뛴다.
+ *   이런 옵저버는 다음 측정값으로 바뀐 getter 값을 읽을 수 있다.
+ *
+ * 알림 메트릭:
+ * - setMetricsEnabled(true)로 옵저버별 update() 지연 분포, 호출/예외 수, 라운드 전체 지연을 기록한다.
+ * - 기록은 미리 만든 배열 칸을 올리는 것뿐이라 알림 경로에서 할당하지 않고, getMetrics()로 스냅샷을 읽는다.
+ * - 비동기 구독은 감싼 옵저버의 이름으로 보이고, 큐에 넣는 시간이 아니라 전달 스레드에서 잰 실제 처리 시간이 기록된다.
  */
 public class WeatherData {
 
-    private final List<WeatherObserver> observers;
+    private static final Subscription[] NO_SUBSCRIPTIONS = new Subscription[0];
+
+    // Copy-on-Write 배열: 구독/해지 때만 새 배열을 만들고, 알림은 할당 없이 순회한다
+    private volatile Subscription[] subscriptions = NO_SUBSCRIPTIONS;
+    private final Object subscriptionLock = new Object();
+
+    // 병렬 알림 (null이면 순차). 라운드 배열과 카운터는 알림 스레드에서만 쓴다
+    private volatile ForkJoinPool parallelPool;
+    private Subscription[] round = NO_SUBSCRIPTIONS;
+    private volatile long timedOutCount;
+    private volatile long skippedCount;
+    private volatile long failedCount;
+
+    // 알림 메트릭 (라운드 지연은 알림 스레드에서만 기록)
+    private volatile boolean metricsEnabled;
+    private final LatencyHistogram fanOutLatencies = new LatencyHistogram();
 
     private float temperature;
     private float humidity;
     private float pressure;
     private float windSpeed;  // 새로 추가!
 
-    public WeatherData() {
-        this.observers = new ArrayList<>();
-    }
-
     // === 구독 관리 ===
 
     public void subscribe(WeatherObserver observer) {
+        subscribe(observer, WeatherInterest.EVERY_UPDATE);
+    }
+
+    /**
+     * 필드 선택 구독: interest에 선언한 필드가 데드밴드 이상 바뀔 때만 알림을 받는다.
+     */
+    public void subscribe(WeatherObserver observer, WeatherInterest interest) {
+        subscribe(observer, interest, 0, null);
+    }
+
+    /**
+     * 우선순위와 제한 시간을 지정한 구독
+     *
+     * @param priority 클수록 먼저 알린다 (같으면 구독한 순서)
+     * @param timeout  병렬 알림에서 이 옵저버를 기다리는 최대 시간 (null이면 끝날 때까지)
+     */
+    public void subscribe(WeatherObserver observer, WeatherInterest interest, int priority, Duration timeout) {
         Objects.requireNonNull(observer, "observer must not be null");
-        observers.add(observer);
+        Objects.requireNonNull(interest, "interest must not be null");
+        if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+            throw new IllegalArgumentException("timeout은 0보다 커야 합니다: " + timeout);
+        }
+        Subscription subscription = new Subscription(observer, interest, priority,
+                timeout == null ? 0 : timeout.toNanos());
+        synchronized (subscriptionLock) {
+            Subscription[] current = subscriptions;
+            int index = 0;
+            while (index < current.length && current[index].priority >= priority) {
+                index++;
+            }
+            Subscription[] next = new Subscription[current.length + 1];
+            System.arraycopy(current, 0, next, 0, index);
+            next[index] = subscription;
+            System.arraycopy(current, index, next, index + 1, current.length - index);
+            subscriptions = next;
+            if (metricsEnabled) {
+                subscription.setMetricsEnabled(true);
+            }
+        }
         System.out.println("[WeatherData] 새로운 옵저버 등록됨: " + observer.getClass().getSimpleName());
     }
 
     public void unsubscribe(WeatherObserver observer) {
         Objects.requireNonNull(observer, "observer must not be null");
-        observers.remove(observer);
+        synchronized (subscriptionLock) {
+            Subscription[] current = subscriptions;
+            int index = indexOf(current, observer);
+            if (index >= 0) {
+                Subscription[] next = new Subscription[current.length - 1];
+                System.arraycopy(current, 0, next, 0, index);
+                System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+                subscriptions = next;
+            }
+        }
         System.out.println("[WeatherData] 옵저버 제거됨: " + observer.getClass().getSimpleName());
     }
 
+    // 비동기로 구독한 옵저버는 원래 옵저버 참조로도 찾을 수 있다
+    private static int indexOf(Subscription[] current, WeatherObserver observer) {
+        for (int i = 0; i < current.length; i++) {
+            WeatherObserver registered = current[i].observer;
+            if (registered.equals(observer)
+                    || (registered instanceof AsyncWeatherObserver
+                    && ((AsyncWeatherObserver) registered).getDelegate().equals(observer))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 비동기 구독: 옵저버마다 전용 메일박스를 두고 executor 스레드에서 update()를 호출한다.
+     * 느린 옵저버가 있어도 setMeasurements()를 호출한 센서 스레드는 기다리지 않는다.
+     * 반환된 AsyncWeatherObserver로 큐 깊이, 버린 개수 등을 조회할 수 있다.
+     */
+    public AsyncWeatherObserver subscribeAsync(WeatherObserver observer, Executor executor,
+                                               int capacity, AsyncWeatherObserver.OverflowPolicy policy) {
+        AsyncWeatherObserver async = new AsyncWeatherObserver(observer, executor, capacity, policy);
+        subscribe(async);
+        return async;
+    }
+
     /**
      * Pull 방식의 핵심!
      * 데이터를 보내지 않고, 자기 자신(this)을 전달함
      * Observer가 필요한 데이터를 알아서 가져감
+     *
+     * 직접 호출하면 관심 필드/데드밴드와 상관없이 모든 옵저버에게 알린다.
      */
     public void notifyObservers() {
-        // 알림 중 subscribe/unsubscribe가 일어나도 안전하도록 스냅샷 순회
-        for (WeatherObserver observer : new ArrayList<>(observers)) {
-            observer.update(this);
+        dispatch(WeatherField.ALL_MASK, true);
+    }
+
+    private void dispatch(int changedMask, boolean force) {
+        // 발행된 배열은 불변이라 알림 중 subscribe/unsubscribe가 일어나도 복사 없이 순회해도 안전
+        Subscription[] current = subscriptions;
+        boolean metered = metricsEnabled;
+        ForkJoinPool pool = parallelPool;
+        long roundStart = metered || pool != null ? System.nanoTime() : 0L;
+        try {
+            if (pool != null) {
+                dispatchParallel(pool, current, changedMask, force, metered, roundStart);
+            } else {
+                for (Subscription subscription : current) {
+                    if (force || subscription.accepts(this, changedMask)) {
+                        subscription.deliver(this, metered);
+                    }
+                }
+            }
+        } finally {
+            if (metered) {
+                fanOutLatencies.record(System.nanoTime() - roundStart); // 옵저버 예외로 끝난 라운드도 센다
+            }
+        }
+    }
+
+    private void dispatchParallel(ForkJoinPool pool, Subscription[] current, int changedMask, boolean force,
+                                  boolean metered, long roundStart) {
+        Subscription[] forked = round;
+        if (forked.length < current.length) {
+            forked = new Subscription[current.length]; // 구독자가 늘었을 때만 키운다
+            round = forked;
+        }
+
+        // 1. 우선순위 순서대로 제출
+        int count = 0;
+        for (Subscription subscription : current) {
+            if (subscription.isRunning()) {
+                skippedCount++; // 지난 라운드에서 제한 시간을 넘겨 아직 실행 중
+                continue;
+            }
+            if (force || subscription.accepts(this, changedMask)) {
+                try {
+                    subscription.fork(pool, this, metered);
+                    forked[count++] = subscription;
+                } catch (RejectedExecutionException e) {
+                    // 풀이 종료됐거나 가득 참: 이 옵저버만 실패로 세고, 이미 제출한 작업은 아래에서 기다린다
+                    failedCount++;
+                    System.err.println("[WeatherData] " + subscription.observer.getClass().getSimpleName() + " 작업 제출 거부: " + e);
+                }
+            }
+        }
+
+        // 2. 모두 끝나거나 각자의 제한 시간이 지날 때까지 기다림
+        for (int i = 0; i < count; i++) {
+            Subscription subscription = forked[i];
+            forked[i] = null;
+            try {
+                subscription.await(roundStart);
+            } catch (TimeoutException e) {
+                timedOutCount++;
+                System.err.println("[WeatherData] " + subscription.observer.getClass().getSimpleName() + " 제한 시간 초과");
+            } catch (ExecutionException e) {
+                failedCount++;
+                System.err.println("[WeatherData] " + subscription.observer.getClass().getSimpleName() + " 업데이트 실패: " + e.getCause());
+            } catch (InterruptedException e) {
+                // 더 기다리지 않는다. 남은 칸은 비워서 다음 라운드까지 옵저버를 붙잡아 두지 않게 한다
+                Arrays.fill(forked, i + 1, count, null);
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 병렬 알림 켜기/끄기 (null이면 순차 알림)
+     * 공용 풀을 넘기면 다른 병렬 작업과 스레드를 나눠 쓰므로, CPU를 많이 쓰는 옵저버라면 전용 풀을 권장한다.
+     */
+    public void setParallelNotification(ForkJoinPool pool) {
+        this.parallelPool = pool;
+    }
+
+    public long getTimedOutCount() {
+        return timedOutCount;
+    }
+
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    // === 알림 메트릭 ===
+
+    /**
+     * 메트릭 켜기/끄기. 꺼져 있으면 옵저버마다 시간을 재지 않는다.
+     * 옵저버별 히스토그램은 처음 잴 때 한 번만 만든다.
+     */
+    public void setMetricsEnabled(boolean enabled) {
+        synchronized (subscriptionLock) {
+            this.metricsEnabled = enabled;
+            // 비동기 구독은 전달 스레드에서 직접 재므로 따로 알려 준다
+            for (Subscription subscription : subscriptions) {
+                subscription.setMetricsEnabled(enabled);
+            }
+        }
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    /**
+     * 현재 구독 중인 옵저버들의 메트릭 스냅샷 (스크레이프용)
+     * 알림과 동시에 읽으면 진행 중인 라운드의 몇 건이 빠지거나 어긋날 수 있다.
+     */
+    public NotificationMetrics getMetrics() {
+        Subscription[] current = subscriptions;
+        List<NotificationMetrics.ObserverStats> stats = new ArrayList<>(current.length);
+        for (Subscription subscription : current) {
+            stats.add(subscription.snapshot());
         }
+        return new NotificationMetrics(fanOutLatencies.copy(), stats);
     }
 
     // === 비즈니스 메서드 ===
@@ -57,12 +290,19 @@ public class WeatherData {
     }
 
     public void setMeasurements(float temperature, float humidity, float pressure, float windSpeed) {
+        // 바뀐 필드 마스크는 측정마다 한 번만 계산
+        int changedMask = 0;
+        if (Float.compare(this.temperature, temperature) != 0) changedMask |= WeatherField.TEMPERATURE.mask();
+        if (Float.compare(this.humidity, humidity) != 0) changedMask |= WeatherField.HUMIDITY.mask();
+        if (Float.compare(this.pressure, pressure) != 0) changedMask |= WeatherField.PRESSURE.mask();
+        if (Float.compare(this.windSpeed, windSpeed) != 0) changedMask |= WeatherField.WIND_SPEED.mask();
+
         this.temperature = temperature;
         this.humidity = humidity;
         this.pressure = pressure;
         this.windSpeed = windSpeed;
 
-        notifyObservers();
+        dispatch(changedMask, false);
     }
 
     // === Getter들 (Pull 방식에서 필수!) ===
@@ -82,4 +322,159 @@ public class WeatherData {
     public float getWindSpeed() {
         return windSpeed;
     }
+
+    /**
+     * 구독 하나: 옵저버 + 관심사 + 이 옵저버가 마지막으로 받은 값 (데드밴드 기준)
+     * 마지막 값과 병렬 알림 작업은 알림 스레드에서만 읽고 쓴다.
+     */
+    private static final class Subscription {
+        private static final WeatherField[] FIELDS = WeatherField.values();
+
+        private final WeatherObserver observer;
+        private final WeatherInterest interest;
+        private final int priority;
+        private final long timeoutNanos;  // 0이면 제한 없음
+        private final float[] lastDelivered = new float[FIELDS.length];
+        private boolean delivered;
+
+        // 메트릭: 한 옵저버의 update()는 동시에 하나만 돌므로 기록하는 스레드도 한 번에 하나
+        private final String name;
+        private volatile LatencyHistogram latencies;   // 메트릭을 처음 기록할 때 만든다
+        private volatile long failures;
+
+        // 병렬 알림용 작업: 끝난 작업은 reinitialize()로 재사용해서 라운드마다 만들지 않는다
+        private UpdateTask task;
+
+        Subscription(WeatherObserver observer, WeatherInterest interest, int priority, long timeoutNanos) {
+            this.observer = observer;
+            this.interest = interest;
+            this.priority = priority;
+            this.timeoutNanos = timeoutNanos;
+            this.name = nameOf(observer);
+        }
+
+        private static String nameOf(WeatherObserver observer) {
+            if (observer instanceof AsyncWeatherObserver) {
+                return ((AsyncWeatherObserver) observer).getMetricName();
+            }
+            String name = observer.getClass().getSimpleName();
+            return name.isEmpty() ? observer.getClass().getName() : name;
+        }
+
+        void setMetricsEnabled(boolean enabled) {
+            if (observer instanceof AsyncWeatherObserver) {
+                ((AsyncWeatherObserver) observer).setMetricsEnabled(enabled);
+            }
+        }
+
+        void deliver(WeatherData weatherData, boolean metered) {
+            // 비동기 옵저버는 큐에 넣기만 하므로 여기서 재지 않는다 (전달 스레드에서 직접 잼)
+            if (!metered || observer instanceof AsyncWeatherObserver) {
+                observer.update(weatherData);
+                return;
+            }
+            LatencyHistogram histogram = latencies;
+            if (histogram == null) {
+                histogram = new LatencyHistogram();
+                latencies = histogram;
+            }
+            long start = System.nanoTime();
+            try {
+                observer.update(weatherData);
+            } catch (RuntimeException e) {
+                failures++; // 세기만 하고 원래대로 호출한 쪽에 던진다
+                throw e;
+            } finally {
+                histogram.record(System.nanoTime() - start);
+            }
+        }
+
+        NotificationMetrics.ObserverStats snapshot() {
+            if (observer instanceof AsyncWeatherObserver) {
+                AsyncWeatherObserver async = (AsyncWeatherObserver) observer;
+                return new NotificationMetrics.ObserverStats(name, async.getFailedCount(), async.copyLatencies());
+            }
+            LatencyHistogram histogram = latencies;
+            return new NotificationMetrics.ObserverStats(name, failures,
+                    histogram == null ? new LatencyHistogram() : histogram.copy());
+        }
+
+        boolean isRunning() {
+            return task != null && !task.isDone();
+        }
+
+        void fork(ForkJoinPool pool, WeatherData weatherData, boolean metered) {
+            if (task == null) {
+                task = new UpdateTask(this, weatherData);
+            } else {
+                task.reinitialize();
+            }
+            task.metered = metered; // 실행 중이 아닐 때만 바꾸고, execute()가 작업 스레드에 넘겨준다
+            try {
+                pool.execute(task);
+            } catch (RejectedExecutionException e) {
+                // reinitialize()된 작업은 끝나지 않은 상태라 그대로 두면 isRunning()이 계속 true다
+                task = null;
+                throw e;
+            }
+        }
+
+        void await(long roundStart) throws InterruptedException, ExecutionException, TimeoutException {
+            if (timeoutNanos == 0) {
+                task.get();
+            } else {
+                task.get(Math.max(0, roundStart + timeoutNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        boolean accepts(WeatherData weatherData, int changedMask) {
+            if (interest.isEveryUpdate()) {
+                return true;
+            }
+            // 아직 한 번도 받지 않았으면 무조건 보낸다. changedMask는 직전 측정값(처음엔 필드 기본값 0.0)과
+            // 비교한 것이라, 첫 실제 값이 0.0이면 "바뀌지 않음"으로 보여 첫 알림이 영영 안 갈 수 있다
+            if (delivered) {
+                int relevant = interest.mask() & changedMask;
+                if (relevant == 0) {
+                    return false; // 관심 없는 필드만 바뀜
+                }
+                if (!exceedsDeadband(weatherData, relevant)) {
+                    return false;
+                }
+            }
+            for (int i = 0; i < FIELDS.length; i++) {
+                lastDelivered[i] = FIELDS[i].valueOf(weatherData);
+            }
+            delivered = true;
+            return true;
+        }
+
+        private boolean exceedsDeadband(WeatherData weatherData, int relevant) {
+            for (int i = 0; i < FIELDS.length; i++) {
+                if ((relevant & (1 << i)) != 0
+                        && Math.abs(FIELDS[i].valueOf(weatherData) - lastDelivered[i]) >= interest.deadbandOf(i)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class UpdateTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Subscription subscription;
+        private final WeatherData weatherData;
+        private boolean metered;
+
+        UpdateTask(Subscription subscription, WeatherData weatherData) {
+            this.subscription = subscription;
+            this.weatherData = weatherData;
+        }
+
+        @Override
+        protected void compute() {
+            subscription.deliver(weatherData, metered);
+        }
+    }
 }
@@ -0,0 +1,33 @@
+package Chapter_02.observer.tobe.pull;
+
+/**
+ * WeatherData의 측정 필드
+ * 필드마다 비트 하나를 가지므로 "바뀐 필드들"을 int 마스크 하나로 표현할 수 있다.
+ */
+public enum WeatherField {
+    TEMPERATURE,
+    HUMIDITY,
+    PRESSURE,
+    WIND_SPEED;
+
+    public static final int ALL_MASK = (1 << values().length) - 1;
+
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    public float valueOf(WeatherData weatherData) {
+        switch (this) {
+            case TEMPERATURE:
+                return weatherData.getTemperature();
+            case HUMIDITY:
+                return weatherData.getHumidity();
+            case PRESSURE:
+                return weatherData.getPressure();
+            case WIND_SPEED:
+                return weatherData.getWindSpeed();
+            default:
+                throw new IllegalStateException("알 수 없는 필드: " + this);
+        }
+    }
+}
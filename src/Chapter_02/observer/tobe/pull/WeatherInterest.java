@@ -0,0 +1,58 @@
+package Chapter_02.observer.tobe.pull;
+
+import java.util.Arrays;
+
+/**
+ * 옵저버의 관심사: 어떤 필드가, 얼마나 바뀌어야 알림을 받을지 (불변)
+ * <pre>
+ * WeatherInterest.of(WeatherField.WIND_SPEED)                       // 풍속이 바뀔 때만
+ * WeatherInterest.of(WeatherField.TEMPERATURE).deadband(TEMPERATURE, 0.5f) // 0.5°C 이상 바뀔 때만
+ * </pre>
+ * 데드밴드는 "이 옵저버가 마지막으로 받은 값" 기준이다. 0.1°C씩 천천히 오르더라도
+ * 누적 0.5°C가 되는 순간 알림이 간다.
+ */
+public final class WeatherInterest {
+
+    // 기존 subscribe(observer)의 동작: 값이 바뀌었든 아니든 매 측정마다 알림
+    public static final WeatherInterest EVERY_UPDATE = new WeatherInterest(WeatherField.ALL_MASK, new float[WeatherField.values().length], true);
+
+    private final int mask;
+    private final float[] deadbands;
+    private final boolean everyUpdate;
+
+    private WeatherInterest(int mask, float[] deadbands, boolean everyUpdate) {
+        this.mask = mask;
+        this.deadbands = deadbands;
+        this.everyUpdate = everyUpdate;
+    }
+
+    public static WeatherInterest of(WeatherField first, WeatherField... rest) {
+        int mask = first.mask();
+        for (WeatherField field : rest) {
+            mask |= field.mask();
+        }
+        return new WeatherInterest(mask, new float[WeatherField.values().length], false);
+    }
+
+    // 해당 필드가 threshold 이상 바뀌어야 알림 (관심 필드에 자동 추가)
+    public WeatherInterest deadband(WeatherField field, float threshold) {
+        if (!(threshold >= 0)) {
+            throw new IllegalArgumentException("데드밴드는 0 이상이어야 합니다: " + threshold);
+        }
+        float[] next = Arrays.copyOf(deadbands, deadbands.length);
+        next[field.ordinal()] = threshold;
+        return new WeatherInterest(mask | field.mask(), next, false);
+    }
+
+    int mask() {
+        return mask;
+    }
+
+    boolean isEveryUpdate() {
+        return everyUpdate;
+    }
+
+    float deadbandOf(int fieldIndex) {
+        return deadbands[fieldIndex];
+    }
+}
@@ -0,0 +1,373 @@
+package Chapter_02.observer.tobe.pull;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 다수 관측소 허브
+ * <p>
+ * 관측소마다 WeatherData와 옵저버 리스트를 따로 두지 않고, 관측소들을 고정된 수의
+ * 작업 레인(lane)에 나눠 담는다. (관측소 ID % 레인 수)
+ * - 한 관측소의 측정값은 항상 같은 레인 스레드에서 순서대로 처리된다
+ * - 관측소 상태(최신 측정값)는 기본형 배열에 있고, 자기 레인 스레드만 쓴다
+ * - 수집은 레인별 큐로 흩어지므로 여러 코어가 나눠서 처리한다
+ * <p>
+ * 구독은 관측소 단위, 지역 단위, 전체(와일드카드) 세 가지다.
+ * <p>
+ * close()는 새 측정값을 받지 않고, 레인 큐에 이미 들어간 측정값을 모두 알린 뒤 레인 스레드가 끝날 때까지 기다린다.
+ */
+public class WeatherStationHub implements AutoCloseable {
+
+    private static final StationObserver[] NO_OBSERVERS = new StationObserver[0];
+
+    private final int stationCount;
+    private final Lane[] lanes;
+    private final Thread[] laneThreads;
+
+    // 관측소 최신 값 (관측소 ID로 인덱싱, 담당 레인 스레드만 쓴다)
+    private final float[] temperatures;
+    private final float[] humidities;
+    private final float[] pressures;
+    private final float[] windSpeeds;
+
+    // 구독 (레인 스레드는 락 없이 읽는다)
+    // 관측소별 지역 ID는 칸 단위로 발행한다. 배열을 통째로 복사하면 관측소 N개 배정이 O(N²)이 된다
+    private final AtomicIntegerArray regionOf;
+    private final Map<String, Integer> regionIds = new HashMap<>();
+    private final AtomicReferenceArray<StationObserver[]> stationObservers;
+    private volatile AtomicReferenceArray<StationObserver[]> regionObservers = new AtomicReferenceArray<>(0);
+    private volatile StationObserver[] wildcardObservers = NO_OBSERVERS;
+    private final Object subscriptionLock = new Object();
+
+    public WeatherStationHub(int stationCount, int laneCount, int laneCapacity) {
+        if (stationCount <= 0 || laneCount <= 0 || laneCapacity <= 0) {
+            throw new IllegalArgumentException("관측소 수, 레인 수, 레인 용량은 0보다 커야 합니다");
+        }
+        this.stationCount = stationCount;
+        this.temperatures = new float[stationCount];
+        this.humidities = new float[stationCount];
+        this.pressures = new float[stationCount];
+        this.windSpeeds = new float[stationCount];
+        int[] noRegions = new int[stationCount];
+        Arrays.fill(noRegions, -1);
+        this.regionOf = new AtomicIntegerArray(noRegions);
+        this.stationObservers = new AtomicReferenceArray<>(stationCount);
+
+        this.lanes = new Lane[laneCount];
+        this.laneThreads = new Thread[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(laneCapacity);
+            laneThreads[i] = new Thread(lanes[i], "weather-lane-" + i);
+            laneThreads[i].setDaemon(true);
+            laneThreads[i].start();
+        }
+    }
+
+    // === 관측소/구독 관리 ===
+
+    public void assignRegion(int stationId, String region) {
+        checkStation(stationId);
+        Objects.requireNonNull(region, "region must not be null");
+        synchronized (subscriptionLock) {
+            regionOf.set(stationId, regionId(region));
+        }
+    }
+
+    public void subscribeStation(int stationId, StationObserver observer) {
+        checkStation(stationId);
+        Objects.requireNonNull(observer, "observer must not be null");
+        synchronized (subscriptionLock) {
+            stationObservers.set(stationId, append(stationObservers.get(stationId), observer));
+        }
+    }
+
+    public void subscribeRegion(String region, StationObserver observer) {
+        Objects.requireNonNull(region, "region must not be null");
+        Objects.requireNonNull(observer, "observer must not be null");
+        synchronized (subscriptionLock) {
+            int regionId = regionId(region);
+            regionObservers.set(regionId, append(regionObservers.get(regionId), observer));
+        }
+    }
+
+    public void subscribeAll(StationObserver observer) {
+        Objects.requireNonNull(observer, "observer must not be null");
+        synchronized (subscriptionLock) {
+            wildcardObservers = append(wildcardObservers, observer);
+        }
+    }
+
+    // 모든 구독(관측소/지역/전체)에서 제거
+    public void unsubscribe(StationObserver observer) {
+        synchronized (subscriptionLock) {
+            for (int i = 0; i < stationCount; i++) {
+                StationObserver[] current = stationObservers.get(i);
+                if (current != null) {
+                    stationObservers.set(i, remove(current, observer));
+                }
+            }
+            for (int i = 0; i < regionObservers.length(); i++) {
+                regionObservers.set(i, remove(regionObservers.get(i), observer));
+            }
+            wildcardObservers = remove(wildcardObservers, observer);
+        }
+    }
+
+    // subscriptionLock 안에서 호출
+    private int regionId(String region) {
+        Integer id = regionIds.get(region);
+        if (id != null) {
+            return id;
+        }
+        int newId = regionIds.size();
+        regionIds.put(region, newId);
+        AtomicReferenceArray<StationObserver[]> grown = new AtomicReferenceArray<>(newId + 1);
+        for (int i = 0; i < newId; i++) {
+            grown.set(i, regionObservers.get(i));
+        }
+        grown.set(newId, NO_OBSERVERS);
+        regionObservers = grown;
+        return newId;
+    }
+
+    private static StationObserver[] append(StationObserver[] current, StationObserver observer) {
+        StationObserver[] base = current == null ? NO_OBSERVERS : current;
+        StationObserver[] next = Arrays.copyOf(base, base.length + 1);
+        next[base.length] = observer;
+        return next;
+    }
+
+    private static StationObserver[] remove(StationObserver[] current, StationObserver observer) {
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].equals(observer)) {
+                StationObserver[] next = new StationObserver[current.length - 1];
+                System.arraycopy(current, 0, next, 0, i);
+                System.arraycopy(current, i + 1, next, i, current.length - i - 1);
+                return next;
+            }
+        }
+        return current;
+    }
+
+    private void checkStation(int stationId) {
+        if (stationId < 0 || stationId >= stationCount) {
+            throw new IllegalArgumentException("관측소 ID 범위를 벗어났습니다: " + stationId);
+        }
+    }
+
+    // === 수집 ===
+
+    /**
+     * 측정값 수집. 어느 스레드에서 호출해도 되며, 담당 레인의 큐에 넣고 바로 돌아간다.
+     * 레인 큐가 가득 차면 빈자리가 날 때까지 기다린다.
+     *
+     * @throws IllegalStateException close()된 뒤에 호출했거나, 기다리는 동안 닫힌 경우
+     */
+    public void setMeasurements(int stationId, float temperature, float humidity, float pressure, float windSpeed) {
+        checkStation(stationId);
+        lanes[stationId % lanes.length].offer(stationId, temperature, humidity, pressure, windSpeed);
+    }
+
+    // 레인 스레드에서 호출: 최신 값 갱신 후 관측소 → 지역 → 전체 구독자 순서로 알림
+    private void apply(int stationId, float temperature, float humidity, float pressure, float windSpeed) {
+        temperatures[stationId] = temperature;
+        humidities[stationId] = humidity;
+        pressures[stationId] = pressure;
+        windSpeeds[stationId] = windSpeed;
+
+        StationObserver[] byStation = stationObservers.get(stationId);
+        if (byStation != null) {
+            notify(byStation, stationId, temperature, humidity, pressure, windSpeed);
+        }
+        int regionId = regionOf.get(stationId);
+        AtomicReferenceArray<StationObserver[]> byRegion = regionObservers;
+        if (regionId >= 0 && regionId < byRegion.length()) {
+            notify(byRegion.get(regionId), stationId, temperature, humidity, pressure, windSpeed);
+        }
+        notify(wildcardObservers, stationId, temperature, humidity, pressure, windSpeed);
+    }
+
+    private static void notify(StationObserver[] observers, int stationId,
+                               float temperature, float humidity, float pressure, float windSpeed) {
+        for (StationObserver observer : observers) {
+            observer.update(stationId, temperature, humidity, pressure, windSpeed);
+        }
+    }
+
+    // === 조회 ===
+
+    // 레인 스레드가 갱신 중일 수 있으므로 필드끼리 서로 다른 측정 시점의 값일 수 있다
+    public float getTemperature(int stationId) {
+        return temperatures[stationId];
+    }
+
+    public float getHumidity(int stationId) {
+        return humidities[stationId];
+    }
+
+    public float getPressure(int stationId) {
+        return pressures[stationId];
+    }
+
+    public float getWindSpeed(int stationId) {
+        return windSpeeds[stationId];
+    }
+
+    public long getProcessedCount() {
+        long total = 0;
+        for (Lane lane : lanes) {
+            total += lane.processed;
+        }
+        return total;
+    }
+
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * 새 측정값을 더 받지 않고(이후 setMeasurements는 IllegalStateException),
+     * 레인 큐에 남은 측정값을 모두 알린 뒤 레인 스레드가 끝날 때까지 기다린다.
+     * 기다리는 중에 인터럽트되면 인터럽트 상태를 남기고 바로 돌아간다. 그때 남은 측정값은 레인 스레드가 계속 처리한다.
+     * 레인 스레드 안(옵저버)에서 호출하면 자기 자신은 기다리지 않는다.
+     */
+    @Override
+    public void close() {
+        for (Lane lane : lanes) {
+            lane.halt();
+        }
+        for (Thread thread : laneThreads) {
+            if (thread == Thread.currentThread()) {
+                continue;
+            }
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 작업 레인: 여러 수집 스레드가 넣고(MPSC), 레인 스레드 하나가 묶음으로 꺼낸다.
+     * 큐는 기본형 배열로 된 링 버퍼라서 측정값마다 객체를 만들지 않는다.
+     */
+    private final class Lane implements Runnable {
+        private final int capacity;
+        private final int[] stationIds;
+        private final float[] values;   // 측정값 4개씩
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final Condition notFull = lock.newCondition();
+        private long head;
+        private long tail;
+        private volatile boolean running = true;
+        private volatile long processed;
+
+        // 레인 스레드 전용 배치 버퍼
+        private final int[] batchIds;
+        private final float[] batchValues;
+
+        Lane(int capacity) {
+            this.capacity = capacity;
+            this.stationIds = new int[capacity];
+            this.values = new float[capacity * 4];
+            this.batchIds = new int[capacity];
+            this.batchValues = new float[capacity * 4];
+        }
+
+        void offer(int stationId, float temperature, float humidity, float pressure, float windSpeed) {
+            lock.lock();
+            try {
+                // 닫힌 레인은 아무도 꺼내 가지 않으므로 기다리지 않고 거절한다
+                while (running && tail - head == capacity) {
+                    notFull.awaitUninterruptibly();
+                }
+                if (!running) {
+                    throw new IllegalStateException("허브가 닫혔습니다");
+                }
+                int slot = (int) (tail % capacity);
+                stationIds[slot] = stationId;
+                values[slot * 4] = temperature;
+                values[slot * 4 + 1] = humidity;
+                values[slot * 4 + 2] = pressure;
+                values[slot * 4 + 3] = windSpeed;
+                if (tail++ == head) {
+                    notEmpty.signal();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // halt() 뒤에도 큐가 빌 때까지 처리한다. takeBatch가 0을 돌려주면 닫혔고 큐도 비었다는 뜻
+        @Override
+        public void run() {
+            while (true) {
+                int size = takeBatch();
+                if (size == 0) {
+                    return;
+                }
+                for (int i = 0; i < size; i++) {
+                    try {
+                        apply(batchIds[i], batchValues[i * 4], batchValues[i * 4 + 1],
+                                batchValues[i * 4 + 2], batchValues[i * 4 + 3]);
+                    } catch (RuntimeException e) {
+                        System.err.println("[WeatherStationHub] 관측소 " + batchIds[i] + " 처리 실패: " + e);
+                    }
+                }
+                processed += size;
+            }
+        }
+
+        // 큐에 쌓인 것을 한 번에 배치 버퍼로 옮긴다 (락은 옮기는 동안만)
+        private int takeBatch() {
+            lock.lock();
+            try {
+                while (head == tail) {
+                    if (!running) {
+                        return 0;
+                    }
+                    try {
+                        notEmpty.await();
+                    } catch (InterruptedException e) {
+                        // 큐가 빈 채로 인터럽트되면 레인을 닫는다 (이후 offer는 거절된다)
+                        Thread.currentThread().interrupt();
+                        running = false;
+                        notFull.signalAll();
+                        return 0;
+                    }
+                }
+                int size = (int) (tail - head);
+                for (int i = 0; i < size; i++) {
+                    int slot = (int) (head++ % capacity);
+                    batchIds[i] = stationIds[slot];
+                    System.arraycopy(values, slot * 4, batchValues, i * 4, 4);
+                }
+                notFull.signalAll();
+                return size;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void halt() {
+            lock.lock();
+            try {
+                running = false;
+                notEmpty.signalAll();
+                notFull.signalAll(); // 큐가 가득 차서 기다리던 수집 스레드를 깨운다
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package Chapter_02.observer.tobe.pull;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 슬라이딩 윈도우 통계 엔진 (최소/최대/평균/분산/근사 백분위수)
+ * <p>
+ * 윈도우를 buckets개의 작은 구간(버킷)으로 나눠서 버킷마다 요약값만 보관한다.
+ * - 갱신: 현재 버킷 하나만 고친다 → O(1). 버킷이 바뀔 때만 그 버킷을 비운다 (분할 상환 O(1))
+ * - 조회: 살아 있는 버킷들의 요약값을 합친다 → 버킷 수에만 비례, 데이터 양과 무관
+ * 윈도우는 버킷 단위로 미끄러진다. (버킷 60개면 윈도우의 1/60 단위)
+ * <p>
+ * 평균/분산은 float 합계 대신 Welford 알고리즘(double)으로 누적하고,
+ * 버킷끼리는 Chan의 병합 공식으로 합친다. 오래 돌려도 누적 오차가 커지지 않는다.
+ * <p>
+ * 쓰기는 한 스레드(수집 스레드)에서만 한다. 읽기는 StampedLock의 낙관적 읽기로 하므로
+ * 대시보드가 조회해도 쓰기 스레드를 막지 않고, 도중에 쓰기가 끼어들면 다시 읽는다.
+ */
+public class WindowedStatistics {
+
+    private static final int OPTIMISTIC_RETRIES = 8;
+
+    private final boolean timeBased;
+    private final long bucketSpan;          // 버킷 하나의 크기 (건수 또는 밀리초)
+    private final LongSupplier clock;
+    private final double histogramMin;
+    private final double binWidth;
+    private final int bins;
+
+    // 버킷별 요약값 (인덱스 = 버킷 번호 % buckets)
+    private final long[] bucketIds;
+    private final long[] counts;
+    private final double[] means;
+    private final double[] m2s;             // 평균과의 편차 제곱합
+    private final double[] mins;
+    private final double[] maxs;
+    private final long[] histograms;        // [버킷 × bins + bin]
+
+    private final StampedLock lock = new StampedLock();
+    private long samples;                   // 건수 윈도우용 누적 건수
+    private long latestBucketId = Long.MIN_VALUE;
+
+    private WindowedStatistics(boolean timeBased, long bucketSpan, int buckets, LongSupplier clock,
+                               double histogramMin, double histogramMax, int bins) {
+        if (bins <= 0 || !(histogramMax > histogramMin)) {
+            throw new IllegalArgumentException("히스토그램 범위가 올바르지 않습니다");
+        }
+        this.timeBased = timeBased;
+        this.bucketSpan = bucketSpan;
+        this.clock = clock;
+        this.histogramMin = histogramMin;
+        this.binWidth = (histogramMax - histogramMin) / bins;
+        this.bins = bins;
+
+        this.bucketIds = new long[buckets];
+        this.counts = new long[buckets];
+        this.means = new double[buckets];
+        this.m2s = new double[buckets];
+        this.mins = new double[buckets];
+        this.maxs = new double[buckets];
+        this.histograms = new long[buckets * bins];
+        Arrays.fill(bucketIds, Long.MIN_VALUE);
+    }
+
+    /**
+     * 최근 windowSize건에 대한 통계
+     * windowSize는 buckets의 배수여야 한다. (나머지를 버리면 윈도우가 말없이 줄어든다)
+     */
+    public static WindowedStatistics ofCount(int windowSize, int buckets,
+                                             double histogramMin, double histogramMax, int bins) {
+        return new WindowedStatistics(false, bucketSpan(windowSize, buckets), buckets, null,
+                histogramMin, histogramMax, bins);
+    }
+
+    /**
+     * 최근 windowMillis 동안의 통계
+     * windowMillis는 buckets의 배수여야 한다.
+     */
+    public static WindowedStatistics ofTime(long windowMillis, int buckets, LongSupplier clock,
+                                            double histogramMin, double histogramMax, int bins) {
+        Objects.requireNonNull(clock, "clock must not be null");
+        return new WindowedStatistics(true, bucketSpan(windowMillis, buckets), buckets, clock,
+                histogramMin, histogramMax, bins);
+    }
+
+    private static long bucketSpan(long window, int buckets) {
+        if (buckets <= 0) {
+            throw new IllegalArgumentException("buckets는 0보다 커야 합니다: " + buckets);
+        }
+        if (window < buckets || window % buckets != 0) {
+            throw new IllegalArgumentException("윈도우 크기(" + window + ")는 버킷 수(" + buckets + ")의 배수여야 합니다");
+        }
+        return window / buckets;
+    }
+
+    public void record(double value) {
+        record(timeBased ? clock.getAsLong() : 0L, value);
+    }
+
+    // 시간 윈도우에서 측정 시각을 직접 넘길 때 (건수 윈도우에서는 timestamp 무시)
+    public void record(long timestamp, double value) {
+        long stamp = lock.writeLock();
+        try {
+            long bucketId = timeBased ? Math.floorDiv(timestamp, bucketSpan) : samples++ / bucketSpan;
+            if (bucketId + bucketIds.length <= latestBucketId) {
+                return; // 윈도우 밖의 늦게 도착한 값
+            }
+            latestBucketId = Math.max(latestBucketId, bucketId);
+
+            int slot = (int) Math.floorMod(bucketId, (long) bucketIds.length);
+            if (bucketIds[slot] != bucketId) {
+                resetBucket(slot, bucketId);
+            }
+
+            // Welford 온라인 알고리즘
+            long n = ++counts[slot];
+            double delta = value - means[slot];
+            means[slot] += delta / n;
+            m2s[slot] += delta * (value - means[slot]);
+            mins[slot] = Math.min(mins[slot], value);
+            maxs[slot] = Math.max(maxs[slot], value);
+            histograms[slot * bins + binOf(value)]++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void resetBucket(int slot, long bucketId) {
+        bucketIds[slot] = bucketId;
+        counts[slot] = 0;
+        means[slot] = 0;
+        m2s[slot] = 0;
+        mins[slot] = Double.POSITIVE_INFINITY;
+        maxs[slot] = Double.NEGATIVE_INFINITY;
+        Arrays.fill(histograms, slot * bins, (slot + 1) * bins, 0);
+    }
+
+    private int binOf(double value) {
+        int bin = (int) ((value - histogramMin) / binWidth);
+        return Math.max(0, Math.min(bins - 1, bin));
+    }
+
+    /**
+     * 현재 윈도우의 통계. 쓰기 스레드를 막지 않는다.
+     */
+    public StatisticsSnapshot snapshot() {
+        long[] histogram = new long[bins];
+        for (int attempt = 0; attempt < OPTIMISTIC_RETRIES; attempt++) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                StatisticsSnapshot snapshot = merge(histogram);
+                if (lock.validate(stamp)) {
+                    return snapshot;
+                }
+            }
+            Thread.onSpinWait();
+        }
+        // 쓰기가 너무 잦아서 계속 실패하면 잠깐 읽기 락을 잡는다
+        long stamp = lock.readLock();
+        try {
+            return merge(histogram);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private StatisticsSnapshot merge(long[] histogram) {
+        Arrays.fill(histogram, 0);
+        long newest = timeBased ? Math.max(latestBucketId, Math.floorDiv(clock.getAsLong(), bucketSpan)) : latestBucketId;
+
+        long count = 0;
+        double mean = 0;
+        double m2 = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int slot = 0; slot < bucketIds.length; slot++) {
+            long n = counts[slot];
+            if (n == 0 || bucketIds[slot] + bucketIds.length <= newest) {
+                continue; // 비었거나 윈도우에서 밀려난 버킷
+            }
+            // Chan의 병합 공식
+            long total = count + n;
+            double delta = means[slot] - mean;
+            mean += delta * n / total;
+            m2 += m2s[slot] + delta * delta * ((double) count * n / total);
+            count = total;
+            min = Math.min(min, mins[slot]);
+            max = Math.max(max, maxs[slot]);
+            for (int bin = 0; bin < bins; bin++) {
+                histogram[bin] += histograms[slot * bins + bin];
+            }
+        }
+        double variance = count > 1 ? m2 / (count - 1) : 0.0;
+        return new StatisticsSnapshot(count, min, max, mean, variance, histogram.clone(), histogramMin, binWidth);
+    }
+}
@@ -0,0 +1,24 @@
+package Chapter_02.observer.tobe.push;
+
+import Chapter_02.observer.tobe.LatencyHistogram;
+
+/**
+ * 알림 스레드에서는 큐에 넣기만 하고, 실제 처리는 다른 스레드에서 하는 옵저버
+ * (AsyncWeatherObserver, MeasurementSubscription)
+ * <p>
+ * 알림 스레드에서 update()를 재면 큐에 넣는 시간만 나온다. 그래서 WeatherData는 이런 옵저버에게
+ * 측정을 맡기고(전달 스레드에서 감싼 대상의 실행 시간을 잼), 메트릭을 읽을 때 결과만 가져간다.
+ */
+interface AsyncDelivery {
+
+    // 켜져 있으면 전달 스레드에서 처리 시간을 잰다. 히스토그램은 처음 켤 때 만든다
+    void setMetricsEnabled(boolean enabled);
+
+    // 전달 스레드에서 잰 처리 시간의 복사본 (잰 적이 없으면 빈 히스토그램)
+    LatencyHistogram copyLatencies();
+
+    long getFailedCount();
+
+    // 메트릭에 표시할 이름: 래퍼가 아니라 감싼 대상의 이름
+    String getMetricName();
+}
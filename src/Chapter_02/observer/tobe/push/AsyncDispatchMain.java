@@ -0,0 +1,47 @@
+package Chapter_02.observer.tobe.push;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 비동기 알림 데모
+ * 느린 디스플레이가 있어도 센서 스레드(main)는 멈추지 않는다.
+ * (Java 21 이상이면 Executors.newVirtualThreadPerTaskExecutor()를 넘겨도 된다)
+ */
+public class AsyncDispatchMain {
+    public static void main(String[] args) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        WeatherData weatherData = new WeatherData();
+
+        // 측정값 하나 처리에 100ms 걸리는 느린 디스플레이
+        WeatherObserver slowDisplay = (t, h, p) -> {
+            sleep(100);
+            System.out.println("  [느린 디스플레이] 온도: " + t);
+        };
+
+        AsyncWeatherObserver dropOldest = weatherData.subscribeAsync(
+                slowDisplay, executor, 3, AsyncWeatherObserver.OverflowPolicy.DROP_OLDEST);
+        // 현재 날씨는 최신 값만 있으면 되므로 병합 구독
+        AsyncWeatherObserver conflating = weatherData.subscribeConflating(new CurrentConditionsDisplay(), executor);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            weatherData.setMeasurements(20.0f + i, 60.0f, 1013.0f);
+        }
+        System.out.println("센서 스레드 10회 측정 소요: " + (System.nanoTime() - start) / 1_000_000 + "ms");
+
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+        System.out.println(dropOldest);
+        System.out.println(conflating);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package Chapter_02.observer.tobe.push;
+
+import Chapter_02.observer.tobe.AsyncMailbox;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * 비동기 옵저버 (데코레이터)
+ * <p>
+ * 센서 스레드는 측정값을 이 옵저버의 메일박스(고정 크기 큐)에 넣기만 하고 바로 돌아간다.
+ * 실제 update()는 executor 스레드에서 메일박스를 비우면서 호출된다.
+ * 느린 디스플레이 하나 때문에 다른 옵저버나 센서 수집이 멈추지 않는다.
+ * <p>
+ * 메일박스, 넘침 정책, 거부 처리, 메트릭은 AsyncMailbox에 있다. 여기서는 push 방식으로 넣고 꺼내는 것만 맡는다.
+ */
+public class AsyncWeatherObserver extends AsyncMailbox implements WeatherObserver, AsyncDelivery {
+
+    private static final int FIELDS = 3; // temperature, humidity, pressure
+
+    private final WeatherObserver delegate;
+
+    public AsyncWeatherObserver(WeatherObserver delegate, Executor executor, int capacity, OverflowPolicy policy) {
+        super(Objects.requireNonNull(delegate, "delegate must not be null"), executor, capacity, policy, FIELDS);
+        this.delegate = delegate;
+    }
+
+    /**
+     * 센서 스레드에서 호출된다. 메일박스에 넣고 바로 돌아간다.
+     */
+    @Override
+    public void update(float temperature, float humidity, float pressure) {
+        offer(temperature, humidity, pressure, 0f);
+    }
+
+    @Override
+    protected void deliver(float[] values) {
+        delegate.update(values[0], values[1], values[2]);
+    }
+
+    public WeatherObserver getDelegate() {
+        return delegate;
+    }
+}
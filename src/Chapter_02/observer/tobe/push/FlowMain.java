@@ -0,0 +1,108 @@
+package Chapter_02.observer.tobe.push;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flow 구독 데모: 센서는 빠르게 측정하고, 구독자는 자기 속도만큼만 요청한다.
+ */
+public class FlowMain {
+
+    public static void main(String[] args) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        WeatherData weatherData = new WeatherData();
+
+        // 1. 한 번에 하나씩 요청하고 10ms씩 걸리는 느린 구독자: 버퍼 8칸, 오래된 값부터 버림
+        CountDownLatch slowDone = new CountDownLatch(1);
+        SlowSubscriber slow = new SlowSubscriber(slowDone);
+        MeasurementSubscription slowSubscription = weatherData.subscribe(
+                slow, executor, 8, MeasurementSubscription.OverflowStrategy.DROP_OLDEST);
+
+        // 2. 버퍼 4칸, 넘치면 에러로 끊김: 요청을 하지 않으므로 곧 넘친다
+        MeasurementSubscription strict = weatherData.subscribe(new Flow.Subscriber<Measurement>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                // 요청하지 않음
+            }
+
+            @Override
+            public void onNext(Measurement item) {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                System.out.println("  [엄격한 구독자] onError: " + throwable.getMessage());
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        }, executor, 4, MeasurementSubscription.OverflowStrategy.ERROR);
+
+        // 센서가 1000번 측정 (구독자 속도와 상관없이 바로 돌아온다)
+        long start = System.nanoTime();
+        for (int i = 0; i < 1_000; i++) {
+            weatherData.setMeasurements(20.0f + i * 0.01f, 60.0f, 1013.0f);
+        }
+        System.out.println("센서 스레드 1000회 측정 소요: " + (System.nanoTime() - start) / 1_000_000 + "ms");
+
+        slowDone.await(5, TimeUnit.SECONDS);
+        System.out.println("느린 구독자 마지막 값: " + slow.last);
+        System.out.println(slowSubscription);
+        System.out.println(strict);
+
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    // 한 건씩 요청해서 10건을 받으면 구독을 취소한다
+    private static final class SlowSubscriber implements Flow.Subscriber<Measurement> {
+        private final CountDownLatch done;
+        private Flow.Subscription subscription;
+        private int received;
+        private volatile Measurement last;
+
+        SlowSubscriber(CountDownLatch done) {
+            this.done = done;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(Measurement item) {
+            sleep(10);
+            last = item;
+            if (++received == 10) {
+                subscription.cancel();
+                done.countDown();
+            } else {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package Chapter_02.observer.tobe.push;
+
+/**
+ * 측정값 하나 (불변)
+ * Flow 구독자에게 onNext()로 넘기는 값이다.
+ */
+public final class Measurement {
+
+    private final float temperature;
+    private final float humidity;
+    private final float pressure;
+
+    public Measurement(float temperature, float humidity, float pressure) {
+        this.temperature = temperature;
+        this.humidity = humidity;
+        this.pressure = pressure;
+    }
+
+    public float getTemperature() {
+        return temperature;
+    }
+
+    public float getHumidity() {
+        return humidity;
+    }
+
+    public float getPressure() {
+        return pressure;
+    }
+
+    @Override
+    public String toString() {
+        return "Measurement(온도=" + temperature + ", 습도=" + humidity + ", 기압=" + pressure + ")";
+    }
+}
@@ -0,0 +1,353 @@
+package Chapter_02.observer.tobe.push;
+
+import Chapter_02.observer.tobe.LatencyHistogram;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Flow 구독 하나 (WeatherData ↔ Flow.Subscriber)
+ * <p>
+ * WeatherData 쪽에서는 평범한 옵저버로 등록되어 측정값을 받고, 구독자별 버퍼(float 링 버퍼)에 쌓는다.
+ * 구독자가 request(n)으로 요청한 만큼만 executor 스레드에서 onNext()로 꺼내 준다.
+ * 버퍼가 차면 센서 스레드를 막지 않고 정해진 전략대로 처리하므로, 느린 구독자가 있어도 메모리는 버퍼 크기를 넘지 않는다.
+ * <p>
+ * onNext/onError는 항상 한 번에 하나씩, 순서대로 호출된다.
+ */
+public final class MeasurementSubscription implements Flow.Subscription, WeatherObserver, AsyncDelivery {
+
+    private static final int FIELDS = 3; // temperature, humidity, pressure
+
+    // 버퍼가 가득 찼을 때의 처리 방식
+    public enum OverflowStrategy {
+        DROP_OLDEST,  // 가장 오래된 측정값을 버린다 (버퍼 1칸이면 최신 값만 유지하는 병합과 같음)
+        DROP_LATEST,  // 새로 들어온 측정값을 버린다
+        ERROR         // 구독을 끊고 onError로 알린다
+    }
+
+    private final WeatherData publisher;
+    private final Flow.Subscriber<? super Measurement> subscriber;
+    private final Executor executor;
+    private final OverflowStrategy strategy;
+    private final int capacity;
+    private final float[] buffer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private long head;          // 다음에 꺼낼 위치
+    private long tail;          // 다음에 넣을 위치
+    private long demand;        // 아직 채워 주지 않은 요청 수
+    private boolean draining;   // executor에 drain 작업이 올라가 있는지
+    private boolean cancelled;
+    private Throwable pendingError;
+
+    // === 메트릭 ===
+    private long droppedCount;
+    private volatile long deliveredCount;
+    private volatile long failedCount;
+    private volatile boolean metricsEnabled;
+    private volatile LatencyHistogram latencies;   // 처음 켤 때 만든다. drain은 한 번에 하나라 기록하는 스레드도 하나
+
+    MeasurementSubscription(WeatherData publisher, Flow.Subscriber<? super Measurement> subscriber,
+                            Executor executor, int capacity, OverflowStrategy strategy) {
+        this.publisher = publisher;
+        this.subscriber = Objects.requireNonNull(subscriber, "subscriber must not be null");
+        this.executor = Objects.requireNonNull(executor, "executor must not be null");
+        this.strategy = Objects.requireNonNull(strategy, "strategy must not be null");
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity는 0보다 커야 합니다: " + capacity);
+        }
+        this.capacity = capacity;
+        this.buffer = new float[capacity * FIELDS];
+    }
+
+    /**
+     * 센서 스레드에서 호출된다. 버퍼에 넣고 바로 돌아간다.
+     */
+    @Override
+    public void update(float temperature, float humidity, float pressure) {
+        boolean schedule;
+        boolean failed = false;
+        lock.lock();
+        try {
+            if (cancelled) {
+                return;
+            }
+            if (tail - head == capacity) {
+                switch (strategy) {
+                    case DROP_OLDEST:
+                        head++;
+                        droppedCount++;
+                        break;
+                    case DROP_LATEST:
+                        droppedCount++;
+                        return;
+                    case ERROR:
+                        // 버린 것이 아니라 구독을 끝내는 것이므로 droppedCount는 올리지 않는다
+                        fail(new IllegalStateException("구독자 버퍼가 가득 찼습니다: " + capacity));
+                        failed = true;
+                        break;
+                    default:
+                        throw new IllegalStateException("알 수 없는 전략: " + strategy);
+                }
+            }
+            if (failed) {
+                schedule = startDrain();
+            } else {
+                int slot = (int) (tail % capacity) * FIELDS;
+                buffer[slot] = temperature;
+                buffer[slot + 1] = humidity;
+                buffer[slot + 2] = pressure;
+                tail++;
+                schedule = demand > 0 && startDrain();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (failed) {
+            publisher.unsubscribe(this);
+        }
+        if (schedule) {
+            scheduleDrain();
+        }
+    }
+
+    @Override
+    public void request(long n) {
+        boolean schedule;
+        boolean failed;
+        lock.lock();
+        try {
+            if (cancelled) {
+                return;
+            }
+            failed = n <= 0;
+            if (failed) {
+                // Reactive Streams 규칙 3.9
+                fail(new IllegalArgumentException("request는 양수여야 합니다: " + n));
+                schedule = startDrain();
+            } else {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n; // 넘치면 무제한
+                schedule = head != tail && startDrain();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (failed) {
+            publisher.unsubscribe(this);
+        }
+        if (schedule) {
+            scheduleDrain();
+        }
+    }
+
+    @Override
+    public void cancel() {
+        lock.lock();
+        try {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            head = tail; // 쌓인 값은 버린다
+        } finally {
+            lock.unlock();
+        }
+        publisher.unsubscribe(this);
+    }
+
+    // lock을 잡은 상태에서 호출: 쌓인 값을 버리고 다음 drain에서 onError를 전달하게 한다
+    private void fail(Throwable error) {
+        cancelled = true;
+        pendingError = error;
+        head = tail;
+    }
+
+    // lock을 잡은 상태에서 호출: drain 작업을 새로 올려야 하면 true
+    private boolean startDrain() {
+        if (draining) {
+            return false;
+        }
+        draining = true;
+        return true;
+    }
+
+    // startDrain()이 true를 돌려준 뒤, lock 밖에서 호출한다
+    private void scheduleDrain() {
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            onRejected(e);
+        }
+    }
+
+    /**
+     * executor가 drain 작업을 거절했을 때 (종료됐거나 큐가 가득 찬 경우)
+     * draining을 되돌리지 않으면 이후 어떤 update/request도 drain을 다시 올리지 못해 구독이 조용히 멈춘다.
+     * 전달할 스레드가 없으므로 구독을 끝내고, 쌓여 있던 값은 버린 것으로 센 뒤 onError로 알린다.
+     * 예외는 호출한 쪽(센서 스레드의 notifyObservers)으로 올려 보내지 않는다.
+     */
+    private void onRejected(RejectedExecutionException e) {
+        Throwable error;
+        lock.lock();
+        try {
+            draining = false;
+            cancelled = true;
+            droppedCount += tail - head;
+            head = tail;
+            // ERROR 전략/잘못된 request로 이미 실패가 정해졌다면 그 원인을 그대로 알린다
+            error = pendingError != null ? pendingError : e;
+            pendingError = null;
+        } finally {
+            lock.unlock();
+        }
+        publisher.unsubscribe(this);
+        // cancelled를 세웠으니 drain은 더 이상 올라가지 않는다. 여기서 호출해도 onError는 한 번뿐이다
+        try {
+            subscriber.onError(error);
+        } catch (RuntimeException ex) {
+            System.err.println("[MeasurementSubscription] onError 실패: " + ex);
+        }
+    }
+
+    /**
+     * executor 스레드에서 실행된다. 요청량과 버퍼가 허락하는 만큼 전달한다.
+     */
+    private void drain() {
+        while (true) {
+            Throwable error;
+            float temperature = 0;
+            float humidity = 0;
+            float pressure = 0;
+
+            lock.lock();
+            try {
+                error = pendingError;
+                if (error != null) {
+                    pendingError = null;
+                    draining = false;
+                } else if (cancelled || head == tail || demand == 0) {
+                    draining = false;
+                    return;
+                } else {
+                    int slot = (int) (head % capacity) * FIELDS;
+                    temperature = buffer[slot];
+                    humidity = buffer[slot + 1];
+                    pressure = buffer[slot + 2];
+                    head++;
+                    if (demand != Long.MAX_VALUE) {
+                        demand--;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (error != null) {
+                subscriber.onError(error);
+                return;
+            }
+            // 메트릭은 버퍼에 넣는 시간이 아니라 이 스레드에서 onNext가 실제로 걸린 시간을 잰다
+            LatencyHistogram histogram = metricsEnabled ? latencies : null;
+            long start = histogram == null ? 0L : System.nanoTime();
+            try {
+                subscriber.onNext(new Measurement(temperature, humidity, pressure));
+                deliveredCount++;
+            } catch (RuntimeException e) {
+                // 규칙을 어기고 예외를 던진 구독자는 구독을 끊는다
+                failedCount++;
+                System.err.println("[MeasurementSubscription] onNext 실패, 구독 취소: " + e);
+                cancel();
+            } finally {
+                if (histogram != null) {
+                    histogram.record(System.nanoTime() - start);
+                }
+            }
+        }
+    }
+
+    // === 메트릭 조회 ===
+
+    public int getBufferedCount() {
+        lock.lock();
+        try {
+            return (int) (tail - head);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getDemand() {
+        lock.lock();
+        try {
+            return demand;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getDroppedCount() {
+        lock.lock();
+        try {
+            return droppedCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getDeliveredCount() {
+        return deliveredCount;
+    }
+
+    @Override
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    // === 알림 메트릭 (WeatherData가 켜고 끈다) ===
+
+    @Override
+    public void setMetricsEnabled(boolean enabled) {
+        if (enabled && latencies == null) {
+            latencies = new LatencyHistogram();
+        }
+        metricsEnabled = enabled;
+    }
+
+    @Override
+    public LatencyHistogram copyLatencies() {
+        LatencyHistogram histogram = latencies;
+        return histogram == null ? new LatencyHistogram() : histogram.copy();
+    }
+
+    @Override
+    public String getMetricName() {
+        return "Flow(" + subscriberName() + ")";
+    }
+
+    private String subscriberName() {
+        String name = subscriber.getClass().getSimpleName();
+        return name.isEmpty() ? subscriber.getClass().getName() : name;
+    }
+
+    public boolean isCancelled() {
+        lock.lock();
+        try {
+            return cancelled;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Flow(" + subscriberName() + ", " + strategy
+                + ", buffered=" + getBufferedCount() + "/" + capacity
+                + ", delivered=" + deliveredCount + ", dropped=" + getDroppedCount()
+                + ", cancelled=" + isCancelled() + ")";
+    }
+}
@@ -4,6 +4,7 @@ public class ToBePushMain {
     public static void main(String[] args) {
         // 1. Subject 생성
         WeatherData weatherData = new WeatherData();
+        weatherData.setMetricsEnabled(true); // 옵저버별 알림 시간 기록
 
         // 2. Observer들 생성
         CurrentConditionsDisplay currentDisplay = new CurrentConditionsDisplay();
@@ -35,5 +36,9 @@ public class ToBePushMain {
 
         System.out.println("\n========== 네 번째 측정 ==========\n");
         weatherData.setMeasurements(30.0f, 80.0f, 1008.00f);
+
+        // 7. 어느 옵저버가 알림을 느리게 만드는지 확인
+        System.out.println("\n========== 알림 메트릭 ==========\n");
+        System.out.print(weatherData.getMetrics());
     }
 }
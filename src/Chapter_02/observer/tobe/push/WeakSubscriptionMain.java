@@ -0,0 +1,47 @@
+package Chapter_02.observer.tobe.push;
+
+/**
+ * 약한 참조 구독 데모
+ * 화면 세션이 디스플레이를 구독하고 unsubscribe 없이 사라져도, GC 후 다음 알림에서 정리된다.
+ */
+public class WeakSubscriptionMain {
+
+    private static final int ROUNDS = 3;
+    private static final int SESSIONS_PER_ROUND = 20;
+
+    public static void main(String[] args) {
+        WeatherData weatherData = new WeatherData();
+        SessionDisplay dashboard = new SessionDisplay();   // 계속 살아 있는 디스플레이
+        weatherData.subscribeWeak(dashboard);
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            // 세션을 열고 구독만 하고 닫는다 (unsubscribe 호출 안 함)
+            for (int i = 0; i < SESSIONS_PER_ROUND; i++) {
+                UiSession session = new UiSession();
+                weatherData.subscribeWeak(session.display);
+            }
+            System.out.println("라운드 " + round + " 세션 종료 후 구독 수: " + weatherData.getSubscriptionCount());
+
+            System.gc();
+            weatherData.setMeasurements(20.0f + round, 60.0f, 1013.0f);
+            System.out.println("GC + 알림 후: 구독 " + weatherData.getSubscriptionCount()
+                    + ", 살아 있음 " + weatherData.getLiveObserverCount()
+                    + ", 누적 정리 " + weatherData.getPrunedCount());
+        }
+        System.out.println("계속 구독 중인 디스플레이가 받은 알림: " + dashboard.updates);
+    }
+
+    // 화면 세션: 자기 디스플레이를 필드로 들고 있다가 세션과 함께 사라진다
+    private static final class UiSession {
+        private final SessionDisplay display = new SessionDisplay();
+    }
+
+    private static final class SessionDisplay implements WeatherObserver {
+        private int updates;
+
+        @Override
+        public void update(float temperature, float humidity, float pressure) {
+            updates++;
+        }
+    }
+}
@@ -1,8 +1,16 @@
 package Chapter_02.observer.tobe.push;
 
+import Chapter_02.observer.tobe.LatencyHistogram;
+import Chapter_02.observer.tobe.NotificationMetrics;
+
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * TO-BE: 옵저버 패턴이 적용된 WeatherData
@@ -11,44 +19,244 @@ import java.util.Objects;
  * - 구체적인 디스플레이 클래스를 모름 (Observer 인터페이스만 앎)
  * - 런타임에 동적으로 옵저버 추가/제거 가능
  * - 새로운 디스플레이가 추가되어도 이 클래스는 수정할 필요 없음
+ * <p>
+ * Flow.Publisher도 구현한다. Flow 구독자는 request(n)으로 요청한 만큼만 받고,
+ * 구독자별 버퍼가 차면 정해진 전략(MeasurementSubscription.OverflowStrategy)대로 처리된다.
+ * <p>
+ * 약한 참조 구독(subscribeWeak)도 지원한다. unsubscribe를 잊은 옵저버가 GC되면
+ * 다음 알림 때 목록에서 저절로 빠진다.
+ * <p>
+ * setMetricsEnabled(true)로 알림 메트릭(옵저버별 지연 분포, 호출/예외 수, 라운드 전체 지연)을 켤 수 있다.
+ * 기록은 미리 만든 배열 칸을 올리는 것뿐이라 알림 경로에서 할당하지 않고, getMetrics()로 스냅샷을 읽는다.
+ * 비동기/Flow 구독은 감싼 대상의 이름으로 보이고, 큐에 넣는 시간이 아니라 전달 스레드에서 잰 실제 처리 시간이 기록된다.
  */
-public class WeatherData implements WeatherSubject {
+public class WeatherData implements WeatherSubject, Flow.Publisher<Measurement> {
 
-    // 구체 클래스가 아닌 인터페이스 타입의 리스트
-    private final List<WeatherObserver> observers;
+    private static final Registration[] NO_OBSERVERS = new Registration[0];
+
+    // 구체 클래스가 아닌 인터페이스 타입의 옵저버를 담은 등록 정보 배열
+    // Copy-on-Write: 구독/해지 때마다 새 배열을 만들어 통째로 바꿔 끼운다.
+    // 알림은 volatile로 읽은 배열을 그대로 순회하므로 복사(할당)가 필요 없다.
+    private volatile Registration[] observers = NO_OBSERVERS;
+    private final Object subscriptionLock = new Object();
+    private long prunedCount;   // GC되어 목록에서 정리된 약한 구독 수 (subscriptionLock으로 보호)
+
+    // 알림 메트릭 (기록은 알림 스레드에서만)
+    private volatile boolean metricsEnabled;
+    private final LatencyHistogram fanOutLatencies = new LatencyHistogram();
 
     private float temperature;
     private float humidity;
     private float pressure;
 
-    public WeatherData() {
-        this.observers = new ArrayList<>();
-    }
-
-
     @Override
     public void subscribe(WeatherObserver observer) {
         Objects.requireNonNull(observer, "observer must not be null");
-        observers.add(observer);
+        add(new Registration(observer, false));
         System.out.println("[WeatherData] 새로운 옵저버 등록됨: " + observer.getClass().getSimpleName());
     }
 
+    /**
+     * 약한 참조 구독: WeatherData가 옵저버를 살려 두지 않는다.
+     * 옵저버를 들고 있는 쪽(화면 세션 등)이 사라져 GC되면 알림 도중 발견해서 목록에서 정리한다.
+     * 따라서 구독하는 쪽이 옵저버 참조를 필드 등에 들고 있어야 한다. (람다를 바로 넘기면 곧 사라짐)
+     */
+    public void subscribeWeak(WeatherObserver observer) {
+        Objects.requireNonNull(observer, "observer must not be null");
+        add(new Registration(observer, true));
+        System.out.println("[WeatherData] 새로운 옵저버 등록됨 (약한 참조): " + observer.getClass().getSimpleName());
+    }
+
+    private void add(Registration entry) {
+        synchronized (subscriptionLock) {
+            Registration[] current = observers;
+            Registration[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = entry;
+            observers = next;
+            if (metricsEnabled) {
+                entry.setMetricsEnabled(true);
+            }
+        }
+    }
+
     @Override
     public void unsubscribe(WeatherObserver observer) {
         Objects.requireNonNull(observer, "observer must not be null");
-        observers.remove(observer);
+        synchronized (subscriptionLock) {
+            Registration[] current = observers;
+            int index = indexOf(current, observer);
+            if (index >= 0) {
+                Registration[] next = new Registration[current.length - 1];
+                System.arraycopy(current, 0, next, 0, index);
+                System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+                observers = next;
+            }
+        }
         System.out.println("[WeatherData] 옵저버 제거됨: " + observer.getClass().getSimpleName());
     }
 
+    // 비동기/약한 참조로 구독한 옵저버는 원래 옵저버 참조로도 찾을 수 있다
+    private static int indexOf(Registration[] current, WeatherObserver observer) {
+        for (int i = 0; i < current.length; i++) {
+            WeatherObserver registered = current[i].get();
+            if (registered != null && (registered.equals(observer)
+                    || (registered instanceof AsyncWeatherObserver
+                    && ((AsyncWeatherObserver) registered).getDelegate().equals(observer)))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 비동기 구독: 옵저버마다 전용 메일박스를 두고 executor 스레드에서 update()를 호출한다.
+     * 느린 옵저버가 있어도 setMeasurements()를 호출한 센서 스레드는 기다리지 않는다.
+     * 반환된 AsyncWeatherObserver로 큐 깊이, 버린 개수 등을 조회할 수 있다.
+     */
+    public AsyncWeatherObserver subscribeAsync(WeatherObserver observer, Executor executor,
+                                               int capacity, AsyncWeatherObserver.OverflowPolicy policy) {
+        AsyncWeatherObserver async = new AsyncWeatherObserver(observer, executor, capacity, policy);
+        subscribe(async);
+        return async;
+    }
+
+    /**
+     * Flow 구독: 기본값은 공용 ForkJoinPool, 버퍼 Flow.defaultBufferSize()칸, 가장 오래된 값부터 버림
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super Measurement> subscriber) {
+        subscribe(subscriber, ForkJoinPool.commonPool(), Flow.defaultBufferSize(),
+                MeasurementSubscription.OverflowStrategy.DROP_OLDEST);
+    }
+
+    /**
+     * 요청량 기반 구독: 센서 스레드는 구독자별 버퍼에 넣기만 하고,
+     * 구독자가 요청한 만큼만 executor 스레드에서 onNext()로 전달된다.
+     * 반환된 MeasurementSubscription으로 버퍼 깊이, 버린 개수 등을 조회할 수 있다.
+     */
+    public MeasurementSubscription subscribe(Flow.Subscriber<? super Measurement> subscriber, Executor executor,
+                                             int bufferSize, MeasurementSubscription.OverflowStrategy strategy) {
+        MeasurementSubscription subscription =
+                new MeasurementSubscription(this, subscriber, executor, bufferSize, strategy);
+        // onSubscribe가 끝난 뒤에 등록하므로, 첫 onNext보다 onSubscribe가 항상 먼저다
+        subscriber.onSubscribe(subscription);
+        if (!subscription.isCancelled()) {
+            subscribe((WeatherObserver) subscription);
+            // 확인과 등록 사이에 다른 스레드가 cancel()했다면 그쪽의 unsubscribe는 등록 전에 헛돌았다.
+            // 등록한 뒤에 다시 확인해서 직접 뺀다 (이후의 cancel()은 등록된 것을 제대로 뺀다)
+            if (subscription.isCancelled()) {
+                unsubscribe(subscription);
+            }
+        }
+        return subscription;
+    }
+
     @Override
     public void notifyObservers() {
         // 등록된 모든 옵저버에게 알림 (Push: 데이터를 함께 전달)
-        // 알림 중 subscribe/unsubscribe가 일어나도 안전하도록 스냅샷 순회
-        for (WeatherObserver observer : new ArrayList<>(observers)) {
-            observer.update(temperature, humidity, pressure);
+        // 배열은 한 번 발행되면 바뀌지 않으므로, 알림 중 subscribe/unsubscribe가 일어나도
+        // 복사 없이 그대로 순회해도 안전하다
+        boolean metered = metricsEnabled;
+        long roundStart = metered ? System.nanoTime() : 0L;
+        int collected = 0;
+        try {
+            for (Registration registration : observers) {
+                WeatherObserver observer = registration.get();
+                if (observer == null) {
+                    collected++; // GC된 옵저버는 건너뛰고 세기만 한다
+                    continue;
+                }
+                if (metered) {
+                    registration.updateMetered(observer, temperature, humidity, pressure);
+                } else {
+                    observer.update(temperature, humidity, pressure);
+                }
+            }
+        } finally {
+            if (metered) {
+                fanOutLatencies.record(System.nanoTime() - roundStart); // 옵저버 예외로 끝난 라운드도 센다
+            }
+        }
+        if (collected > 0) {
+            pruneCollected();
+        }
+    }
+
+    // GC된 약한 구독을 한 번에 걷어낸다. 죽은 구독이 생긴 알림에서만 새 배열을 만든다
+    private void pruneCollected() {
+        synchronized (subscriptionLock) {
+            Registration[] current = observers;
+            Registration[] next = new Registration[current.length];
+            int size = 0;
+            for (Registration registration : current) {
+                if (registration.get() != null) {
+                    next[size++] = registration;
+                }
+            }
+            if (size < current.length) {
+                prunedCount += current.length - size;
+                observers = size == 0 ? NO_OBSERVERS : Arrays.copyOf(next, size);
+            }
         }
     }
 
+    // === 구독 현황 ===
+
+    // 아직 살아 있는 옵저버 수 (GC됐지만 아직 정리되지 않은 약한 구독은 빼고 센다)
+    public int getLiveObserverCount() {
+        int live = 0;
+        for (Registration registration : observers) {
+            if (registration.get() != null) {
+                live++;
+            }
+        }
+        return live;
+    }
+
+    // 목록에 남아 있는 구독 수 (정리 전의 죽은 약한 구독 포함)
+    public int getSubscriptionCount() {
+        return observers.length;
+    }
+
+    public long getPrunedCount() {
+        synchronized (subscriptionLock) {
+            return prunedCount;
+        }
+    }
+
+    // === 알림 메트릭 ===
+
+    /**
+     * 메트릭 켜기/끄기. 꺼져 있으면 알림 경로에서 시간을 재지 않는다.
+     * 옵저버별 히스토그램은 처음 잴 때 한 번만 만든다.
+     */
+    public void setMetricsEnabled(boolean enabled) {
+        synchronized (subscriptionLock) {
+            this.metricsEnabled = enabled;
+            // 비동기 구독은 전달 스레드에서 직접 재므로 따로 알려 준다
+            for (Registration registration : observers) {
+                registration.setMetricsEnabled(enabled);
+            }
+        }
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    /**
+     * 현재 구독 중인 옵저버들의 메트릭 스냅샷 (스크레이프용)
+     * 알림과 동시에 읽으면 진행 중인 라운드의 몇 건이 빠지거나 어긋날 수 있다.
+     */
+    public NotificationMetrics getMetrics() {
+        Registration[] current = observers;
+        List<NotificationMetrics.ObserverStats> stats = new ArrayList<>(current.length);
+        for (Registration registration : current) {
+            stats.add(registration.snapshot());
+        }
+        return new NotificationMetrics(fanOutLatencies.copy(), stats);
+    }
+
     public void setMeasurements(float temperature, float humidity, float pressure) {
         this.temperature = temperature;
         this.humidity = humidity;
@@ -58,4 +266,75 @@ public class WeatherData implements WeatherSubject {
         notifyObservers();
     }
 
+    /**
+     * 등록 정보: 옵저버(강한 참조 또는 약한 참조) + 옵저버별 메트릭
+     * 메트릭은 알림 스레드에서만 기록한다.
+     */
+    private static final class Registration {
+        private final WeatherObserver strong;
+        private final WeakReference<WeatherObserver> weak;
+        private final String name;
+        private final boolean async;                   // AsyncDelivery: 메트릭은 옵저버가 직접 잰다
+        private volatile LatencyHistogram latencies;   // 메트릭을 처음 기록할 때 만든다
+        private volatile long failures;
+
+        Registration(WeatherObserver observer, boolean weakly) {
+            this.strong = weakly ? null : observer;
+            this.weak = weakly ? new WeakReference<>(observer) : null;
+            this.async = observer instanceof AsyncDelivery;
+            this.name = nameOf(observer);
+        }
+
+        private static String nameOf(WeatherObserver observer) {
+            if (observer instanceof AsyncDelivery) {
+                return ((AsyncDelivery) observer).getMetricName();
+            }
+            String name = observer.getClass().getSimpleName();
+            return name.isEmpty() ? observer.getClass().getName() : name;
+        }
+
+        void setMetricsEnabled(boolean enabled) {
+            WeatherObserver observer = get();
+            if (async && observer != null) {
+                ((AsyncDelivery) observer).setMetricsEnabled(enabled);
+            }
+        }
+
+        // GC된 약한 구독이면 null
+        WeatherObserver get() {
+            return strong != null ? strong : weak.get();
+        }
+
+        void updateMetered(WeatherObserver observer, float temperature, float humidity, float pressure) {
+            if (async) {
+                observer.update(temperature, humidity, pressure); // 큐에 넣기만 하므로 여기서 잴 것이 없다
+                return;
+            }
+            LatencyHistogram histogram = latencies;
+            if (histogram == null) {
+                histogram = new LatencyHistogram();
+                latencies = histogram;
+            }
+            long start = System.nanoTime();
+            try {
+                observer.update(temperature, humidity, pressure);
+            } catch (RuntimeException e) {
+                failures++; // 세기만 하고 원래대로 호출한 쪽에 던진다
+                throw e;
+            } finally {
+                histogram.record(System.nanoTime() - start);
+            }
+        }
+
+        NotificationMetrics.ObserverStats snapshot() {
+            WeatherObserver observer = get();
+            if (async && observer != null) {
+                AsyncDelivery delivery = (AsyncDelivery) observer;
+                return new NotificationMetrics.ObserverStats(name, delivery.getFailedCount(), delivery.copyLatencies());
+            }
+            LatencyHistogram histogram = latencies;
+            return new NotificationMetrics.ObserverStats(name, failures,
+                    histogram == null ? new LatencyHistogram() : histogram.copy());
+        }
+    }
 }
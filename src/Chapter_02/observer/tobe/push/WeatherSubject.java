@@ -1,5 +1,7 @@
 package Chapter_02.observer.tobe.push;
 
+import java.util.concurrent.Executor;
+
 /**
  * Subject 인터페이스
  * 옵저버들을 관리하고 알림을 보내는 역할
@@ -11,4 +13,19 @@ public interface WeatherSubject {
     void unsubscribe(WeatherObserver observer);
 
     void notifyObservers();
+
+    /**
+     * 최신 값 병합(conflation) 구독
+     * <p>
+     * 옵저버는 executor 스레드에서 update()를 처리하고, 처리 중에 들어온 측정값은
+     * 대기 중인 측정값을 덮어쓴다. 옵저버는 밀린 값을 하나하나 따라잡는 대신
+     * 항상 가장 최신 값 하나만 받으며, 센서가 아무리 빨라도 대기열은 1칸을 넘지 않는다.
+     * 현재 값만 보여주면 되는 CurrentConditionsDisplay 같은 디스플레이에 알맞다.
+     */
+    default AsyncWeatherObserver subscribeConflating(WeatherObserver observer, Executor executor) {
+        AsyncWeatherObserver conflating = new AsyncWeatherObserver(
+                observer, executor, 1, AsyncWeatherObserver.OverflowPolicy.CONFLATE);
+        subscribe(conflating);
+        return conflating;
+    }
 }